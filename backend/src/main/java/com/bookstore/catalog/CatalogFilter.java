@@ -0,0 +1,22 @@
+package com.bookstore.catalog;
+
+/**
+ * Katalog listeleme filtresi. Yazar, tür ve yayınevi küçük/büyük harf duyarsız olarak
+ * metni içeriyorsa, format ise birebir eşleşiyorsa kitap listelenir. Null alanlar filtrelemez.
+ */
+public record CatalogFilter(String author, String genre, String publisher, String format) {
+
+    public static final CatalogFilter NONE = new CatalogFilter(null, null, null, null);
+
+    public static CatalogFilter of(String author, String genre, String publisher, String format) {
+        return new CatalogFilter(blankToNull(author), blankToNull(genre), blankToNull(publisher), blankToNull(format));
+    }
+
+    public boolean isEmpty() {
+        return author == null && genre == null && publisher == null && format == null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,419 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.BookCursor;
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.BookPageDTO;
+import com.bookstore.dto.BrowsePageDTO;
+import com.bookstore.dto.FacetValueDTO;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BookDTO projeksiyonunun değişmez, sütun tabanlı bellek içi görüntüsü.
+ *
+ * Her alan ayrı bir dizide tutulur: id ve fiyat ilkel dizilerde, yazar/tür/yayınevi/format
+ * sözlük kodlarıyla, tarihler sayı olarak. Satırlar (title, id) sırasındadır; BookDTO nesneleri
+ * yalnızca yanıt üretilirken oluşturulur. Yeniden kurulumda servis referansı atomik olarak değişir.
+ */
+public final class CatalogSnapshot {
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private final long version;
+    private final int size;
+
+    private final long[] ids;
+    private final String[] titles;
+    private final String[] isbns;
+    private final int[] authorCodes;
+    private final int[] genreCodes;
+    private final int[] publisherCodes;
+    private final int[] formatCodes;
+    private final int[] publicationDays;
+    private final long[] priceCents;
+    private final String[] descriptions;
+    private final String[] coverImageUrls;
+    private final long[] createdAtMicros;
+
+    private final StringDictionary authors;
+    private final StringDictionary genres;
+    private final StringDictionary publishers;
+    private final StringDictionary formats;
+
+    private final Postings authorRows;
+    private final Postings genreRows;
+    private final Postings publisherRows;
+    private final Postings formatRows;
+
+    private final FacetIndex facets;
+
+    // id'ye göre sıralı; rowBySortedId[i] sortedIds[i]'nin satırıdır
+    private final long[] sortedIds;
+    private final int[] rowBySortedId;
+
+    private CatalogSnapshot(Builder builder) {
+        this.version = builder.version;
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.titles = Arrays.copyOf(builder.titles, size);
+        this.isbns = Arrays.copyOf(builder.isbns, size);
+        this.authorCodes = Arrays.copyOf(builder.authorCodes, size);
+        this.genreCodes = Arrays.copyOf(builder.genreCodes, size);
+        this.publisherCodes = Arrays.copyOf(builder.publisherCodes, size);
+        this.formatCodes = Arrays.copyOf(builder.formatCodes, size);
+        this.publicationDays = Arrays.copyOf(builder.publicationDays, size);
+        this.priceCents = Arrays.copyOf(builder.priceCents, size);
+        this.descriptions = Arrays.copyOf(builder.descriptions, size);
+        this.coverImageUrls = Arrays.copyOf(builder.coverImageUrls, size);
+        this.createdAtMicros = Arrays.copyOf(builder.createdAtMicros, size);
+
+        this.authors = builder.authors.build();
+        this.genres = builder.genres.build();
+        this.publishers = builder.publishers.build();
+        this.formats = builder.formats.build();
+
+        this.authorRows = new Postings(authorCodes, authors.size());
+        this.genreRows = new Postings(genreCodes, genres.size());
+        this.publisherRows = new Postings(publisherCodes, publishers.size());
+        this.formatRows = new Postings(formatCodes, formats.size());
+        this.facets = new FacetIndex(size, genreCodes, genres, formatCodes, formats, publisherCodes, publishers,
+                priceCents, publicationDays, NULL_LONG, NULL_INT);
+
+        // id'ler SERIAL olduğu için int'e sığar: üst 32 bit id, alt 32 bit satır
+        long[] packed = new long[size];
+        for (int row = 0; row < size; row++) {
+            packed[row] = (ids[row] << 32) | row;
+        }
+        Arrays.sort(packed);
+        this.sortedIds = new long[size];
+        this.rowBySortedId = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = packed[i] >>> 32;
+            rowBySortedId[i] = (int) packed[i];
+        }
+    }
+
+    public static Builder builder(long version) {
+        return new Builder(version);
+    }
+
+    /**
+     * Kurulurken okunan katalog sürümü
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Kitabı id ile bulur; yoksa null döner
+     */
+    public BookDTO get(long bookId) {
+        int row = rowOf(bookId);
+        return row < 0 ? null : toDTO(row);
+    }
+
+    /**
+     * Filtreye uyan kitapların imleçten sonraki sayfasını döner. İmleçteki kitap bu görüntüde
+     * yoksa ya da başlığı değişmişse konum belirlenemez ve null döner.
+     */
+    public BookPageDTO page(CatalogFilter filter, BookCursor after, int limit) {
+        int start = 0;
+        if (after != null) {
+            int row = rowOf(after.bookId);
+            if (row < 0 || !titles[row].equals(after.title)) {
+                return null;
+            }
+            start = row + 1;
+        }
+
+        boolean[] authorMask = filter.author() == null ? null : authors.containing(filter.author());
+        boolean[] genreMask = filter.genre() == null ? null : genres.containing(filter.genre());
+        boolean[] publisherMask = filter.publisher() == null ? null : publishers.containing(filter.publisher());
+        boolean[] formatMask = filter.format() == null ? null : formats.equalTo(filter.format());
+
+        List<BookDTO> items = new ArrayList<>(Math.min(limit, size));
+        String next = null;
+        int[] candidates = smallestCandidates(authorMask, genreMask, publisherMask, formatMask);
+        int count = candidates == null ? size : candidates.length;
+        int from = candidates == null ? start : lowerBound(candidates, start);
+        for (int i = from; i < count; i++) {
+            int row = candidates == null ? i : candidates[i];
+            if (matches(authorMask, authorCodes[row]) && matches(genreMask, genreCodes[row])
+                    && matches(publisherMask, publisherCodes[row]) && matches(formatMask, formatCodes[row])) {
+                if (items.size() == limit) {
+                    next = BookCursor.after(items.get(limit - 1)).encode();
+                    break;
+                }
+                items.add(toDTO(row));
+            }
+        }
+        return new BookPageDTO(items, next);
+    }
+
+    /**
+     * Facet seçimlerine (ve verilmişse metin aramasının eşleştiği kitaplara) uyan kitapların
+     * sayfasını, toplam sayıyı ve facet değer sayımlarını döner. İmleç {@link #page} ile aynı
+     * şekilde çözülür; konum belirlenemezse null döner.
+     *
+     * @param matchingIds metin aramasının eşleştiği kitap id'leri; null ise tüm katalog
+     */
+    public BrowsePageDTO browse(long[] matchingIds, Map<Facet, List<String>> selected, BookCursor after, int limit) {
+        int start = 0;
+        if (after != null) {
+            int row = rowOf(after.bookId);
+            if (row < 0 || !titles[row].equals(after.title)) {
+                return null;
+            }
+            start = row + 1;
+        }
+
+        RoaringBitmap candidates = new RoaringBitmap();
+        if (matchingIds == null) {
+            candidates.add(0L, (long) size);
+        } else {
+            for (long bookId : matchingIds) {
+                int row = rowOf(bookId);
+                if (row >= 0) {
+                    candidates.add(row);
+                }
+            }
+        }
+
+        Map<Facet, RoaringBitmap> filters = facets.filters(selected);
+        RoaringBitmap matched = candidates.clone();
+        for (RoaringBitmap filter : filters.values()) {
+            matched.and(filter);
+        }
+
+        List<BookDTO> items = new ArrayList<>(Math.min(limit, matched.getCardinality()));
+        String next = null;
+        PeekableIntIterator rows = matched.getIntIterator();
+        rows.advanceIfNeeded(start);
+        while (rows.hasNext()) {
+            int row = rows.next();
+            if (items.size() == limit) {
+                next = BookCursor.after(items.get(limit - 1)).encode();
+                break;
+            }
+            items.add(toDTO(row));
+        }
+
+        Map<String, List<FacetValueDTO>> counts = new LinkedHashMap<>();
+        facets.count(candidates, filters, matched).forEach((facet, values) -> counts.put(facet.param(), values));
+        return new BrowsePageDTO(items, next, matched.getCardinality(), counts);
+    }
+
+    /**
+     * Bir satırdan BookDTO üretir
+     */
+    public BookDTO toDTO(int row) {
+        return new BookDTO(
+            ids[row],
+            titles[row],
+            isbns[row],
+            authors.value(authorCodes[row]),
+            genres.value(genreCodes[row]),
+            publishers.value(publisherCodes[row]),
+            publicationDays[row] == NULL_INT ? null : LocalDate.ofEpochDay(publicationDays[row]),
+            priceCents[row] == NULL_LONG ? null : BigDecimal.valueOf(priceCents[row], 2),
+            formats.value(formatCodes[row]),
+            descriptions[row],
+            coverImageUrls[row],
+            createdAtMicros[row] == NULL_LONG ? null : LocalDateTime.ofEpochSecond(
+                Math.floorDiv(createdAtMicros[row], 1_000_000L),
+                (int) Math.floorMod(createdAtMicros[row], 1_000_000L) * 1000,
+                ZoneOffset.UTC));
+    }
+
+    /**
+     * Kitabın satır numarasını döner; yoksa -1
+     */
+    public int rowOf(long bookId) {
+        int index = Arrays.binarySearch(sortedIds, bookId);
+        return index < 0 ? -1 : rowBySortedId[index];
+    }
+
+    /**
+     * En az satıra sahip filtrenin eşleşen satırlarını sıralı olarak döner; filtre yoksa null
+     */
+    private int[] smallestCandidates(boolean[] authorMask, boolean[] genreMask,
+                                     boolean[] publisherMask, boolean[] formatMask) {
+        int[] best = null;
+        Postings bestPostings = null;
+        boolean[] bestMask = null;
+        int bestCount = Integer.MAX_VALUE;
+        Postings[] postings = {authorRows, genreRows, publisherRows, formatRows};
+        boolean[][] masks = {authorMask, genreMask, publisherMask, formatMask};
+        for (int i = 0; i < postings.length; i++) {
+            if (masks[i] == null) {
+                continue;
+            }
+            int count = postings[i].count(masks[i]);
+            if (count < bestCount) {
+                bestCount = count;
+                bestPostings = postings[i];
+                bestMask = masks[i];
+            }
+        }
+        if (bestPostings != null) {
+            best = bestPostings.rows(bestMask, bestCount);
+        }
+        return best;
+    }
+
+    private static boolean matches(boolean[] mask, int code) {
+        return mask == null || (code != StringDictionary.NULL_CODE && mask[code]);
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * Sözlük kodu başına satır listeleri; tek dizi içinde ofsetlerle tutulur
+     */
+    private static final class Postings {
+        private final int[] offsets;
+        private final int[] rows;
+
+        Postings(int[] codes, int dictionarySize) {
+            offsets = new int[dictionarySize + 1];
+            for (int code : codes) {
+                if (code != StringDictionary.NULL_CODE) {
+                    offsets[code + 1]++;
+                }
+            }
+            for (int code = 0; code < dictionarySize; code++) {
+                offsets[code + 1] += offsets[code];
+            }
+            rows = new int[offsets[dictionarySize]];
+            int[] cursor = Arrays.copyOf(offsets, dictionarySize);
+            for (int row = 0; row < codes.length; row++) {
+                if (codes[row] != StringDictionary.NULL_CODE) {
+                    rows[cursor[codes[row]]++] = row;
+                }
+            }
+        }
+
+        int count(boolean[] mask) {
+            int count = 0;
+            for (int code = 0; code < mask.length; code++) {
+                if (mask[code]) {
+                    count += offsets[code + 1] - offsets[code];
+                }
+            }
+            return count;
+        }
+
+        int[] rows(boolean[] mask, int count) {
+            int[] result = new int[count];
+            int length = 0;
+            int matchedCodes = 0;
+            for (int code = 0; code < mask.length; code++) {
+                if (mask[code]) {
+                    int from = offsets[code];
+                    int to = offsets[code + 1];
+                    System.arraycopy(rows, from, result, length, to - from);
+                    length += to - from;
+                    matchedCodes++;
+                }
+            }
+            // Tek kodun listesi zaten sıralıdır
+            if (matchedCodes > 1) {
+                Arrays.sort(result);
+            }
+            return result;
+        }
+    }
+
+    public static final class Builder {
+        private final long version;
+        private int size;
+
+        private long[] ids = new long[1024];
+        private String[] titles = new String[1024];
+        private String[] isbns = new String[1024];
+        private int[] authorCodes = new int[1024];
+        private int[] genreCodes = new int[1024];
+        private int[] publisherCodes = new int[1024];
+        private int[] formatCodes = new int[1024];
+        private int[] publicationDays = new int[1024];
+        private long[] priceCents = new long[1024];
+        private String[] descriptions = new String[1024];
+        private String[] coverImageUrls = new String[1024];
+        private long[] createdAtMicros = new long[1024];
+
+        private final StringDictionary.Builder authors = new StringDictionary.Builder();
+        private final StringDictionary.Builder genres = new StringDictionary.Builder();
+        private final StringDictionary.Builder publishers = new StringDictionary.Builder();
+        private final StringDictionary.Builder formats = new StringDictionary.Builder();
+
+        private Builder(long version) {
+            this.version = version;
+        }
+
+        /**
+         * Kitapları (title, id) sırasında eklemek gerekir
+         */
+        public Builder add(BookDTO book) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = book.bookId;
+            titles[size] = book.title;
+            isbns[size] = book.isbn;
+            authorCodes[size] = authors.encode(book.authorName);
+            genreCodes[size] = genres.encode(book.genreName);
+            publisherCodes[size] = publishers.encode(book.publisherName);
+            formatCodes[size] = formats.encode(book.format);
+            publicationDays[size] = book.publicationDate == null
+                ? NULL_INT : Math.toIntExact(book.publicationDate.toEpochDay());
+            // Kolon 2 ondalıklı; fazlası (ör. BigDecimal ile hesaplanmış fiyat) kuruşa yuvarlanır
+            priceCents[size] = book.price == null
+                ? NULL_LONG : book.price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            descriptions[size] = book.description;
+            coverImageUrls[size] = book.coverImageUrl;
+            createdAtMicros[size] = book.createdAt == null
+                ? NULL_LONG : book.createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + book.createdAt.getNano() / 1000;
+            size++;
+            return this;
+        }
+
+        public CatalogSnapshot build() {
+            return new CatalogSnapshot(this);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            isbns = Arrays.copyOf(isbns, capacity);
+            authorCodes = Arrays.copyOf(authorCodes, capacity);
+            genreCodes = Arrays.copyOf(genreCodes, capacity);
+            publisherCodes = Arrays.copyOf(publisherCodes, capacity);
+            formatCodes = Arrays.copyOf(formatCodes, capacity);
+            publicationDays = Arrays.copyOf(publicationDays, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            coverImageUrls = Arrays.copyOf(coverImageUrls, capacity);
+            createdAtMicros = Arrays.copyOf(createdAtMicros, capacity);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.catalog;
+
+/**
+ * Katalog gezinmesinde sayımı yapılan alanlar; {@link #param()} istek parametresi ve yanıttaki anahtardır
+ */
+public enum Facet {
+    GENRE("genre"),
+    FORMAT("format"),
+    PUBLISHER("publisher"),
+    PRICE("price"),
+    DECADE("decade");
+
+    private final String param;
+
+    Facet(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+}
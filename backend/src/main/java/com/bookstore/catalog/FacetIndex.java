@@ -0,0 +1,167 @@
+package com.bookstore.catalog;
+
+import com.bookstore.dto.FacetValueDTO;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Her facet değeri için o değere sahip satırların sıkıştırılmış bitmap'i.
+ *
+ * Sayımlar {@link RoaringBitmap#andCardinality} ile kesişim bitmap'i oluşturulmadan yapılır.
+ */
+public final class FacetIndex {
+
+    /** Fiyat aralıklarının alt sınırları (kuruş) */
+    private static final long[] PRICE_BOUNDS = {0, 1000, 2000, 3000, 5000};
+    private static final String[] PRICE_LABELS = {"0-10", "10-20", "20-30", "30-50", "50+"};
+
+    private final Map<Facet, Dimension> dimensions = new EnumMap<>(Facet.class);
+
+    /**
+     * Bir facet'in değerleri ve bitmap'leri; değerler gösterim sırasındadır
+     */
+    static final class Dimension {
+        final String[] labels;
+        final RoaringBitmap[] rows;
+        final Map<String, Integer> indexByLabel = new HashMap<>();
+
+        Dimension(String[] labels, RoaringBitmap[] rows) {
+            this.labels = labels;
+            this.rows = rows;
+            for (int i = 0; i < labels.length; i++) {
+                indexByLabel.put(labels[i], i);
+            }
+            for (RoaringBitmap bitmap : rows) {
+                bitmap.runOptimize();
+            }
+        }
+
+        /**
+         * Seçilen değerlerin birleşimi; bilinmeyen değerler hiçbir satırla eşleşmez
+         */
+        RoaringBitmap union(List<String> values) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (String value : values) {
+                Integer index = indexByLabel.get(value);
+                if (index != null) {
+                    union.or(rows[index]);
+                }
+            }
+            return union;
+        }
+    }
+
+    FacetIndex(int size, int[] genreCodes, StringDictionary genres, int[] formatCodes, StringDictionary formats,
+               int[] publisherCodes, StringDictionary publishers, long[] priceCents, int[] publicationDays,
+               long nullPrice, int nullDay) {
+        dimensions.put(Facet.GENRE, fromCodes(size, genreCodes, genres));
+        dimensions.put(Facet.FORMAT, fromCodes(size, formatCodes, formats));
+        dimensions.put(Facet.PUBLISHER, fromCodes(size, publisherCodes, publishers));
+
+        RoaringBitmap[] priceRows = newBitmaps(PRICE_LABELS.length);
+        for (int row = 0; row < size; row++) {
+            if (priceCents[row] != nullPrice) {
+                int bucket = Arrays.binarySearch(PRICE_BOUNDS, priceCents[row]);
+                priceRows[bucket >= 0 ? bucket : Math.max(0, -bucket - 2)].add(row);
+            }
+        }
+        dimensions.put(Facet.PRICE, new Dimension(PRICE_LABELS.clone(), priceRows));
+
+        // On yıllar artan sırada
+        Map<Integer, RoaringBitmap> decades = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            if (publicationDays[row] != nullDay) {
+                int year = LocalDate.ofEpochDay(publicationDays[row]).getYear();
+                decades.computeIfAbsent(Math.floorDiv(year, 10) * 10, d -> new RoaringBitmap()).add(row);
+            }
+        }
+        Integer[] decadeKeys = decades.keySet().toArray(new Integer[0]);
+        Arrays.sort(decadeKeys);
+        String[] decadeLabels = new String[decadeKeys.length];
+        RoaringBitmap[] decadeRows = new RoaringBitmap[decadeKeys.length];
+        for (int i = 0; i < decadeKeys.length; i++) {
+            decadeLabels[i] = decadeKeys[i] + "s";
+            decadeRows[i] = decades.get(decadeKeys[i]);
+        }
+        dimensions.put(Facet.DECADE, new Dimension(decadeLabels, decadeRows));
+    }
+
+    /**
+     * Seçili facet değerlerine göre filtre bitmap'lerini döner; seçimi olmayan facet'ler yer almaz
+     */
+    Map<Facet, RoaringBitmap> filters(Map<Facet, List<String>> selected) {
+        Map<Facet, RoaringBitmap> filters = new EnumMap<>(Facet.class);
+        selected.forEach((facet, values) -> {
+            if (values != null && !values.isEmpty()) {
+                filters.put(facet, dimensions.get(facet).union(values));
+            }
+        });
+        return filters;
+    }
+
+    /**
+     * Her facet için, o facet'in kendi seçimi hariç diğer tüm filtrelere uyan satırlar üzerinden
+     * değer sayımlarını döner. Böylece bir türe tıklandığında diğer türlerin sayıları kaybolmaz.
+     */
+    Map<Facet, List<FacetValueDTO>> count(RoaringBitmap candidates, Map<Facet, RoaringBitmap> filters, RoaringBitmap matched) {
+        Map<Facet, List<FacetValueDTO>> counts = new EnumMap<>(Facet.class);
+        for (Map.Entry<Facet, Dimension> entry : dimensions.entrySet()) {
+            Facet facet = entry.getKey();
+            RoaringBitmap base = matched;
+            if (filters.containsKey(facet)) {
+                base = candidates.clone();
+                for (Map.Entry<Facet, RoaringBitmap> filter : filters.entrySet()) {
+                    if (filter.getKey() != facet) {
+                        base.and(filter.getValue());
+                    }
+                }
+            }
+
+            Dimension dimension = entry.getValue();
+            List<FacetValueDTO> values = new ArrayList<>();
+            for (int i = 0; i < dimension.labels.length; i++) {
+                int count = RoaringBitmap.andCardinality(base, dimension.rows[i]);
+                if (count > 0) {
+                    values.add(new FacetValueDTO(dimension.labels[i], count));
+                }
+            }
+            // Fiyat ve on yıllar kendi sıralarında, diğerleri sayıya göre azalan
+            if (facet != Facet.PRICE && facet != Facet.DECADE) {
+                values.sort((a, b) -> a.count != b.count
+                        ? Integer.compare(b.count, a.count)
+                        : a.value.compareTo(b.value));
+            }
+            counts.put(facet, values);
+        }
+        return counts;
+    }
+
+    private static Dimension fromCodes(int size, int[] codes, StringDictionary dictionary) {
+        RoaringBitmap[] rows = newBitmaps(dictionary.size());
+        for (int row = 0; row < size; row++) {
+            if (codes[row] != StringDictionary.NULL_CODE) {
+                rows[codes[row]].add(row);
+            }
+        }
+        String[] labels = new String[dictionary.size()];
+        for (int code = 0; code < labels.length; code++) {
+            labels[code] = dictionary.value(code);
+        }
+        return new Dimension(labels, rows);
+    }
+
+    private static RoaringBitmap[] newBitmaps(int count) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new RoaringBitmap();
+        }
+        return bitmaps;
+    }
+}
@@ -0,0 +1,75 @@
+package com.bookstore.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tekrarlanan metinleri (yazar, tür, yayınevi, format) int kodlarla saklayan değişmez sözlük.
+ * Null değerin kodu {@link #NULL_CODE}'dur.
+ */
+public final class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+
+    private final String[] values;
+
+    private StringDictionary(String[] values) {
+        this.values = values;
+    }
+
+    public String value(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Küçük/büyük harf duyarsız olarak metni içeren değerlerin kodları için bir maske döner
+     */
+    public boolean[] containing(String text) {
+        String needle = text.toLowerCase(Locale.ROOT);
+        boolean[] mask = new boolean[values.length];
+        for (int code = 0; code < values.length; code++) {
+            mask[code] = values[code].toLowerCase(Locale.ROOT).contains(needle);
+        }
+        return mask;
+    }
+
+    /**
+     * Küçük/büyük harf duyarsız olarak metne eşit değerlerin kodları için bir maske döner
+     */
+    public boolean[] equalTo(String text) {
+        boolean[] mask = new boolean[values.length];
+        for (int code = 0; code < values.length; code++) {
+            mask[code] = values[code].equalsIgnoreCase(text);
+        }
+        return mask;
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        public int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        public StringDictionary build() {
+            return new StringDictionary(values.toArray(new String[0]));
+        }
+    }
+}
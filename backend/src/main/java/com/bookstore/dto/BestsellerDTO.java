@@ -0,0 +1,15 @@
+package com.bookstore.dto;
+
+public class BestsellerDTO {
+    public int rank;
+    public long sold;
+    public BookDTO book;
+
+    public BestsellerDTO() {}
+
+    public BestsellerDTO(int rank, long sold, BookDTO book) {
+        this.rank = rank;
+        this.sold = sold;
+        this.book = book;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bookstore.dto;
+
+import java.util.List;
+
+public class BookBatchDTO {
+    public List<BookDTO> items;
+    public List<Long> missing;
+
+    public BookBatchDTO() {}
+
+    public BookBatchDTO(List<BookDTO> items, List<Long> missing) {
+        this.items = items;
+        this.missing = missing;
+    }
+}
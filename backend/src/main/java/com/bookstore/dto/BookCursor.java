@@ -0,0 +1,47 @@
+package com.bookstore.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the catalog listing, positioned after (title, bookId).
+ */
+public class BookCursor {
+    public final String title;
+    public final Long bookId;
+
+    public BookCursor(String title, Long bookId) {
+        this.title = title;
+        this.bookId = bookId;
+    }
+
+    public static BookCursor after(BookDTO book) {
+        return new BookCursor(book.title, book.bookId);
+    }
+
+    public String encode() {
+        String raw = bookId + ":" + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static BookCursor decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = raw.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new BookCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -17,6 +17,8 @@ public class BookDTO {
     public String description;
     public String coverImageUrl;
     public LocalDateTime createdAt;
+    // IN_STOCK, LOW_STOCK or OUT_OF_STOCK; null when the book's stock is not tracked
+    public String availability;
     
     public BookDTO() {}
     
@@ -0,0 +1,15 @@
+package com.bookstore.dto;
+
+import java.util.List;
+
+public class BookPageDTO {
+    public List<BookDTO> items;
+    public String next;
+
+    public BookPageDTO() {}
+
+    public BookPageDTO(List<BookDTO> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+}
@@ -0,0 +1,20 @@
+package com.bookstore.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class BrowsePageDTO {
+    public List<BookDTO> items;
+    public String next;
+    public int total;
+    public Map<String, List<FacetValueDTO>> facets;
+
+    public BrowsePageDTO() {}
+
+    public BrowsePageDTO(List<BookDTO> items, String next, int total, Map<String, List<FacetValueDTO>> facets) {
+        this.items = items;
+        this.next = next;
+        this.total = total;
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bookstore.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CartDTO {
+    public List<CartItemDTO> items;
+    public int itemCount;
+    public BigDecimal total;
+
+    public CartDTO() {}
+
+    public CartDTO(List<CartItemDTO> items, int itemCount, BigDecimal total) {
+        this.items = items;
+        this.itemCount = itemCount;
+        this.total = total;
+    }
+}
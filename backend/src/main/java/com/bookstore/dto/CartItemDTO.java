@@ -0,0 +1,31 @@
+package com.bookstore.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class CartItemDTO {
+    public Long bookId;
+    public String title;
+    public String authorName;
+    public String genreName;
+    public BigDecimal price;
+    public String format;
+    public String coverImageUrl;
+    public Integer quantity;
+    public LocalDateTime addedAt;
+
+    public CartItemDTO() {}
+
+    public CartItemDTO(Long bookId, String title, String authorName, String genreName, BigDecimal price,
+                       String format, String coverImageUrl, Integer quantity, LocalDateTime addedAt) {
+        this.bookId = bookId;
+        this.title = title;
+        this.authorName = authorName;
+        this.genreName = genreName;
+        this.price = price;
+        this.format = format;
+        this.coverImageUrl = coverImageUrl;
+        this.quantity = quantity;
+        this.addedAt = addedAt;
+    }
+}
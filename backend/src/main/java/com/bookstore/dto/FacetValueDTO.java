@@ -0,0 +1,13 @@
+package com.bookstore.dto;
+
+public class FacetValueDTO {
+    public String value;
+    public int count;
+
+    public FacetValueDTO() {}
+
+    public FacetValueDTO(String value, int count) {
+        this.value = value;
+        this.count = count;
+    }
+}
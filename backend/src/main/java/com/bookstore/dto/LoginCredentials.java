@@ -0,0 +1,18 @@
+package com.bookstore.dto;
+
+import java.util.Set;
+
+/**
+ * Giriş için gereken müşteri alanları ve rol adları; tek bir SQL sorgusuyla okunur,
+ * persistence context'e entity eklenmez.
+ */
+public record LoginCredentials(
+        Long id,
+        String username,
+        String firstName,
+        String lastName,
+        String email,
+        String passwordHash,
+        boolean active,
+        Set<String> roles) {
+}
@@ -0,0 +1,50 @@
+package com.bookstore.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for a customer's order history, positioned after (orderDate, orderId)
+ * in newest-first order.
+ */
+public class OrderCursor {
+    public final LocalDateTime orderDate;
+    public final Long orderId;
+
+    public OrderCursor(LocalDateTime orderDate, Long orderId) {
+        this.orderDate = orderDate;
+        this.orderId = orderId;
+    }
+
+    public static OrderCursor after(OrderDTO order) {
+        return new OrderCursor(order.orderDate, order.orderId);
+    }
+
+    public String encode() {
+        String raw = orderId + ":" + orderDate;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static OrderCursor decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = raw.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return new OrderCursor(LocalDateTime.parse(raw.substring(separator + 1)), Long.parseLong(raw.substring(0, separator)));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
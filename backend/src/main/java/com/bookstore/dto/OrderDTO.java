@@ -0,0 +1,34 @@
+package com.bookstore.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderDTO {
+    public Long orderId;
+    public LocalDateTime orderDate;
+    public String status;
+    public BigDecimal totalPrice;
+    public String shippingAddress;
+    public String paymentMethod;
+    public List<OrderItemDTO> items;
+
+    public OrderDTO() {}
+
+    public OrderDTO(Long orderId, LocalDateTime orderDate, String status, BigDecimal totalPrice,
+                    String shippingAddress, String paymentMethod) {
+        this(orderId, orderDate, status, totalPrice, shippingAddress, paymentMethod, new ArrayList<>());
+    }
+
+    public OrderDTO(Long orderId, LocalDateTime orderDate, String status, BigDecimal totalPrice,
+                    String shippingAddress, String paymentMethod, List<OrderItemDTO> items) {
+        this.orderId = orderId;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.totalPrice = totalPrice;
+        this.shippingAddress = shippingAddress;
+        this.paymentMethod = paymentMethod;
+        this.items = items;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookstore.dto;
+
+import java.math.BigDecimal;
+
+public class OrderItemDTO {
+    public Long bookId;
+    public String title;
+    public Integer quantity;
+    public BigDecimal unitPrice;
+    public BigDecimal totalPrice;
+
+    public OrderItemDTO() {}
+
+    public OrderItemDTO(Long bookId, String title, Integer quantity, BigDecimal unitPrice, BigDecimal totalPrice) {
+        this.bookId = bookId;
+        this.title = title;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.totalPrice = totalPrice;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bookstore.dto;
+
+import java.util.List;
+
+public class OrderPageDTO {
+    public List<OrderDTO> items;
+    public String next;
+
+    public OrderPageDTO() {}
+
+    public OrderPageDTO(List<OrderDTO> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+}
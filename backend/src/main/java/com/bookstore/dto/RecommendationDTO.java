@@ -0,0 +1,13 @@
+package com.bookstore.dto;
+
+public class RecommendationDTO {
+    public int boughtTogether;
+    public BookDTO book;
+
+    public RecommendationDTO() {}
+
+    public RecommendationDTO(int boughtTogether, BookDTO book) {
+        this.boughtTogether = boughtTogether;
+        this.book = book;
+    }
+}
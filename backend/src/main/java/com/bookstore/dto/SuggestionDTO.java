@@ -0,0 +1,15 @@
+package com.bookstore.dto;
+
+public class SuggestionDTO {
+    public String text;
+    public String type;
+    public Long bookId;
+
+    public SuggestionDTO() {}
+
+    public SuggestionDTO(String text, String type, Long bookId) {
+        this.text = text;
+        this.type = type;
+        this.bookId = bookId;
+    }
+}
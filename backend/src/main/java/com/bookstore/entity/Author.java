@@ -6,11 +6,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "authors")
 public class Author {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "author_id")
     public Long id;
     
     @NotBlank
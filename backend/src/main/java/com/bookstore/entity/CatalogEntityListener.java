@@ -0,0 +1,47 @@
+package com.bookstore.entity;
+
+import com.bookstore.event.CatalogChangedEvent;
+import com.bookstore.event.CatalogChangedEvent.ChangeType;
+import com.bookstore.event.CatalogChangedEvent.EntityType;
+import io.quarkus.arc.Arc;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Katalog entity'lerindeki değişiklikleri CDI olayı olarak yayınlar. Gözlemciler
+ * {@code TransactionPhase.AFTER_SUCCESS} ile yalnızca commit edilen değişiklikleri işler.
+ */
+public class CatalogEntityListener {
+
+    @PostPersist
+    void onPersist(Object entity) {
+        fire(entity, ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    void onUpdate(Object entity) {
+        fire(entity, ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    void onRemove(Object entity) {
+        fire(entity, ChangeType.DELETED);
+    }
+
+    private void fire(Object entity, ChangeType changeType) {
+        CatalogChangedEvent event;
+        if (entity instanceof Book book) {
+            event = new CatalogChangedEvent(EntityType.BOOK, changeType, book.id);
+        } else if (entity instanceof Author author) {
+            event = new CatalogChangedEvent(EntityType.AUTHOR, changeType, author.id);
+        } else if (entity instanceof Genre genre) {
+            event = new CatalogChangedEvent(EntityType.GENRE, changeType, genre.id);
+        } else if (entity instanceof Publisher publisher) {
+            event = new CatalogChangedEvent(EntityType.PUBLISHER, changeType, publisher.id);
+        } else {
+            return;
+        }
+        Arc.container().beanManager().getEvent().select(CatalogChangedEvent.class).fire(event);
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "customers")
+@EntityListeners(CustomerEntityListener.class)
 public class Customer {
     
     @Id
@@ -68,7 +69,7 @@ public class Customer {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,30 @@
+package com.bookstore.entity;
+
+import com.bookstore.event.CustomerDeactivatedEvent;
+import io.quarkus.arc.Arc;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Pasifleştirilen ya da silinen müşteriler için {@link CustomerDeactivatedEvent} yayınlar.
+ * Gözlemciler {@code TransactionPhase.AFTER_SUCCESS} ile yalnızca commit edilen değişiklikleri işler.
+ */
+public class CustomerEntityListener {
+
+    @PostUpdate
+    void onUpdate(Customer customer) {
+        if (!Boolean.TRUE.equals(customer.isActive())) {
+            fire(customer);
+        }
+    }
+
+    @PostRemove
+    void onRemove(Customer customer) {
+        fire(customer);
+    }
+
+    private void fire(Customer customer) {
+        Arc.container().beanManager().getEvent().select(CustomerDeactivatedEvent.class)
+                .fire(new CustomerDeactivatedEvent(customer.getId()));
+    }
+}
@@ -5,11 +5,14 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "genres")
 public class Genre {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "genre_id")
     public Long id;
     
     @NotBlank
@@ -0,0 +1,25 @@
+package com.bookstore.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inventory")
+public class Inventory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "inventory_id")
+    public Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", unique = true)
+    public Book book;
+
+    @Column(name = "quantity", nullable = false)
+    public Integer quantity;
+
+    @Column(name = "last_updated")
+    public LocalDateTime lastUpdated;
+}
@@ -0,0 +1,44 @@
+package com.bookstore.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "orders")
+public class Order {
+
+    // Pooled sequence ids (instead of IDENTITY) let Hibernate batch the inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_order_id_seq", allocationSize = 50)
+    @Column(name = "order_id")
+    public Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    public Long customerId;
+
+    @Column(name = "order_date")
+    public LocalDateTime orderDate;
+
+    @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
+    public BigDecimal totalPrice;
+
+    @Column(name = "status", length = 20)
+    public String status;
+
+    @Column(name = "shipping_address", columnDefinition = "TEXT")
+    public String shippingAddress;
+
+    @Column(name = "payment_method", length = 50)
+    public String paymentMethod;
+
+    @Column(name = "created_at")
+    public LocalDateTime createdAt;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)
+    public List<OrderItem> items = new ArrayList<>();
+}
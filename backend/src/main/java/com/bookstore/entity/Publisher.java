@@ -5,11 +5,14 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "publishers")
 public class Publisher {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "publisher_id")
     public Long id;
     
     @NotBlank
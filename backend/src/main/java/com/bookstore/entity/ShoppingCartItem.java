@@ -0,0 +1,28 @@
+package com.bookstore.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "shopping_cart", uniqueConstraints = @UniqueConstraint(columnNames = {"customer_id", "book_id"}))
+public class ShoppingCartItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "cart_id")
+    public Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    public Long customerId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    public Book book;
+
+    @Column(name = "quantity", nullable = false)
+    public Integer quantity;
+
+    @Column(name = "added_at")
+    public LocalDateTime addedAt;
+}
@@ -0,0 +1,26 @@
+package com.bookstore.event;
+
+/**
+ * Katalog tablolarından (kitap, yazar, tür, yayınevi) birinde bir satır eklendiğinde,
+ * güncellendiğinde ya da silindiğinde yayınlanır.
+ */
+public class CatalogChangedEvent {
+
+    public enum EntityType { BOOK, AUTHOR, GENRE, PUBLISHER }
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final EntityType entityType;
+    private final ChangeType changeType;
+    private final Long id;
+
+    public CatalogChangedEvent(EntityType entityType, ChangeType changeType, Long id) {
+        this.entityType = entityType;
+        this.changeType = changeType;
+        this.id = id;
+    }
+
+    public EntityType getEntityType() { return entityType; }
+    public ChangeType getChangeType() { return changeType; }
+    public Long getId() { return id; }
+}
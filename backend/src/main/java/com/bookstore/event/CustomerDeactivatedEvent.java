@@ -0,0 +1,16 @@
+package com.bookstore.event;
+
+/**
+ * Bir müşteri pasifleştirildiğinde ya da silindiğinde yayınlanır; müşterinin oturumları
+ * artık yenilenmemelidir.
+ */
+public class CustomerDeactivatedEvent {
+
+    private final Long customerId;
+
+    public CustomerDeactivatedEvent(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getCustomerId() { return customerId; }
+}
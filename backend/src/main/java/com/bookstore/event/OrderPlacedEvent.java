@@ -0,0 +1,33 @@
+package com.bookstore.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bir sipariş oluşturulduğunda, sipariş transaction'ı içinde yayınlanır.
+ * Gözlemciler commit sonrasını (AFTER_SUCCESS) dinlemelidir.
+ */
+public class OrderPlacedEvent {
+
+    /**
+     * Sipariş satırı; kitap bilgisi sipariş anındaki haliyle taşınır
+     */
+    public record Item(Long bookId, String title, String genreName, int quantity) {}
+
+    private final Long orderId;
+    private final Long customerId;
+    private final LocalDateTime orderDate;
+    private final List<Item> items;
+
+    public OrderPlacedEvent(Long orderId, Long customerId, LocalDateTime orderDate, List<Item> items) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.orderDate = orderDate;
+        this.items = items;
+    }
+
+    public Long getOrderId() { return orderId; }
+    public Long getCustomerId() { return customerId; }
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public List<Item> getItems() { return items; }
+}
@@ -0,0 +1,240 @@
+package com.bookstore.inventory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kitap başına stok sayaçları ve rezervasyonlar; kilitsiz (CAS) çalışır.
+ *
+ * {@code onHand} depodaki adet, {@code available} rezerve edilmemiş adettir. Rezervasyon yalnızca
+ * {@code available}'ı düşürür; commit depodaki adedi düşürür, release ise rezerve edileni geri verir.
+ * Depodaki adedin her değişimi {@code unflushed} farkına eklenir ve toplu olarak veritabanına yazılır.
+ */
+public class StockLedger {
+
+    public enum Availability { IN_STOCK, LOW_STOCK, OUT_OF_STOCK }
+
+    public enum Outcome { DONE, UNKNOWN, NOT_OWNER }
+
+    /**
+     * Bir müşterinin belirli bir süre için ayırdığı kitaplar
+     */
+    public record Reservation(UUID id, long customerId, Map<Long, Integer> lines, long expiresAtMillis) {}
+
+    private static final class Stock {
+        final AtomicInteger onHand = new AtomicInteger();
+        final AtomicInteger available = new AtomicInteger();
+        final AtomicInteger unflushed = new AtomicInteger();
+    }
+
+    private final ConcurrentHashMap<Long, Stock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final int lowStockThreshold;
+    private final Runnable onAvailabilityChanged;
+
+    /**
+     * @param onAvailabilityChanged bir kitabın {@link Availability} değeri değiştiğinde çağrılır
+     */
+    public StockLedger(int lowStockThreshold, Runnable onAvailabilityChanged) {
+        this.lowStockThreshold = lowStockThreshold;
+        this.onAvailabilityChanged = onAvailabilityChanged;
+    }
+
+    /**
+     * Veritabanından okunan adedi yükler; açılışta, rezervasyonlardan önce çağrılır
+     */
+    public void load(long bookId, int quantity) {
+        Stock stock = stocks.computeIfAbsent(bookId, id -> new Stock());
+        stock.onHand.set(quantity);
+        stock.available.set(quantity);
+    }
+
+    /**
+     * Stok takibi yapılmayan kitaplar için null döner
+     */
+    public Availability availability(long bookId) {
+        Stock stock = stocks.get(bookId);
+        return stock == null ? null : availabilityOf(stock.available.get());
+    }
+
+    public int available(long bookId) {
+        Stock stock = stocks.get(bookId);
+        return stock == null ? 0 : stock.available.get();
+    }
+
+    public int onHand(long bookId) {
+        Stock stock = stocks.get(bookId);
+        return stock == null ? 0 : stock.onHand.get();
+    }
+
+    public boolean isTracked(long bookId) {
+        return stocks.containsKey(bookId);
+    }
+
+    /**
+     * Tüm satırları ayırır ya da hiçbirini ayırmaz; yetersiz stokta ilk eksik kitabı {@code shortage}'a yazıp null döner
+     */
+    public Reservation reserve(long customerId, Map<Long, Integer> lines, long expiresAtMillis, long[] shortage) {
+        Map<Long, Integer> taken = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            Stock stock = stocks.get(line.getKey());
+            if (stock == null || !tryTake(stock, line.getValue())) {
+                taken.forEach(this::giveBack);
+                shortage[0] = line.getKey();
+                return null;
+            }
+            taken.put(line.getKey(), line.getValue());
+        }
+        Reservation reservation = new Reservation(UUID.randomUUID(), customerId, Map.copyOf(taken), expiresAtMillis);
+        reservations.put(reservation.id(), reservation);
+        return reservation;
+    }
+
+    /**
+     * Rezerve edilen adetleri satılmış sayar
+     */
+    public Outcome commit(UUID reservationId, long customerId) {
+        Reservation reservation = claim(reservationId, customerId);
+        if (reservation == null) {
+            return reservations.containsKey(reservationId) ? Outcome.NOT_OWNER : Outcome.UNKNOWN;
+        }
+        reservation.lines().forEach((bookId, quantity) -> {
+            Stock stock = stocks.get(bookId);
+            // Rezervasyondan sonra silinen kitabın satırı yok sayılır
+            if (stock != null) {
+                stock.onHand.addAndGet(-quantity);
+                addUnflushed(bookId, stock, -quantity);
+            }
+        });
+        return Outcome.DONE;
+    }
+
+    /**
+     * Rezerve edilen adetleri tekrar satışa açar
+     */
+    public Outcome release(UUID reservationId, long customerId) {
+        Reservation reservation = claim(reservationId, customerId);
+        if (reservation == null) {
+            return reservations.containsKey(reservationId) ? Outcome.NOT_OWNER : Outcome.UNKNOWN;
+        }
+        reservation.lines().forEach(this::giveBack);
+        return Outcome.DONE;
+    }
+
+    /**
+     * Süresi dolan rezervasyonu, henüz commit ya da release edilmediyse serbest bırakır
+     */
+    public boolean expire(UUID reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        reservation.lines().forEach(this::giveBack);
+        return true;
+    }
+
+    /**
+     * Depodaki adedi verilen değere getirir (sayım, yeni sevkiyat); farkı döndürür.
+     * Rezerve edilmiş adetler korunur, bu yüzden satılabilir adet eksiye düşebilir.
+     */
+    public int setOnHand(long bookId, int quantity) {
+        Stock stock = stocks.computeIfAbsent(bookId, id -> new Stock());
+        int previous = stock.onHand.getAndSet(quantity);
+        int delta = quantity - previous;
+        if (delta != 0) {
+            int after = stock.available.addAndGet(delta);
+            notifyIfChanged(after - delta, after);
+            addUnflushed(bookId, stock, delta);
+        }
+        return delta;
+    }
+
+    /**
+     * Kitabın stok kaydını yazılmamış farkıyla birlikte bırakır (kitap silindiğinde).
+     * Açık rezervasyonlardaki satırları artık hiçbir sayacı etkilemez.
+     */
+    public void forget(long bookId) {
+        stocks.remove(bookId);
+        dirty.remove(bookId);
+    }
+
+    /**
+     * Yazılmamış farkları alıp sıfırlar
+     */
+    public Map<Long, Integer> drainDeltas() {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Long bookId : dirty) {
+            // Önce işaret kaldırılır: arada gelen bir fark işareti yeniden koyar
+            dirty.remove(bookId);
+            Stock stock = stocks.get(bookId);
+            int delta = stock == null ? 0 : stock.unflushed.getAndSet(0);
+            if (delta != 0) {
+                deltas.put(bookId, delta);
+            }
+        }
+        return deltas;
+    }
+
+    public int openReservations() {
+        return reservations.size();
+    }
+
+    public int pendingDeltas() {
+        return dirty.size();
+    }
+
+    private Reservation claim(UUID reservationId, long customerId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || reservation.customerId() != customerId) {
+            return null;
+        }
+        // Süre dolumu ile yarışta yalnızca biri kaydı kaldırabilir
+        return reservations.remove(reservationId, reservation) ? reservation : null;
+    }
+
+    private boolean tryTake(Stock stock, int quantity) {
+        while (true) {
+            int current = stock.available.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (stock.available.compareAndSet(current, current - quantity)) {
+                notifyIfChanged(current, current - quantity);
+                return true;
+            }
+        }
+    }
+
+    private void giveBack(long bookId, int quantity) {
+        Stock stock = stocks.get(bookId);
+        if (stock == null) {
+            return;
+        }
+        int after = stock.available.addAndGet(quantity);
+        notifyIfChanged(after - quantity, after);
+    }
+
+    private void addUnflushed(long bookId, Stock stock, int delta) {
+        stock.unflushed.addAndGet(delta);
+        dirty.add(bookId);
+    }
+
+    private void notifyIfChanged(int before, int after) {
+        if (availabilityOf(before) != availabilityOf(after)) {
+            onAvailabilityChanged.run();
+        }
+    }
+
+    private Availability availabilityOf(int available) {
+        if (available <= 0) {
+            return Availability.OUT_OF_STOCK;
+        }
+        return available <= lowStockThreshold ? Availability.LOW_STOCK : Availability.IN_STOCK;
+    }
+}
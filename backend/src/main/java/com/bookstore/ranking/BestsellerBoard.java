@@ -0,0 +1,196 @@
+package com.bookstore.ranking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Kayan pencerede (saatlik dilimler) en çok satan kitaplar; genel ve tür bazında ilk K.
+ *
+ * Her kitabın satışları saatlik bir halka dizide tutulur ve pencere toplamı artımlı güncellenir.
+ * Satış yalnızca artırdığı için ilk K listeleri her satışta O(K) ile düzeltilir: listede olmayan
+ * bir kitap ancak kendi satışıyla listeye girebilir. Pencere kaydığında toplamlar düştüğü için
+ * listeler baştan hesaplanır (saatte bir). Okuyucular her değişiklikten sonra yayımlanan değişmez
+ * listeleri kilitsiz okur.
+ *
+ * Yazma metotları senkronizedir.
+ */
+public class BestsellerBoard {
+
+    /**
+     * Sıralamadaki bir kitap ve pencere içindeki satış adedi
+     */
+    public record Ranked(long bookId, String title, String genre, long sold) {}
+
+    private static final Comparator<BookCounter> BY_SOLD = Comparator
+            .comparingLong((BookCounter counter) -> counter.total).reversed()
+            .thenComparingLong(counter -> counter.bookId);
+
+    private static final class BookCounter {
+        final long bookId;
+        final int[] hourly;
+        String title;
+        String genre;
+        long total;
+
+        BookCounter(long bookId, int windowHours) {
+            this.bookId = bookId;
+            this.hourly = new int[windowHours];
+        }
+
+        Ranked toRanked() {
+            return new Ranked(bookId, title, genre, total);
+        }
+    }
+
+    private record Published(List<Ranked> global, Map<String, List<Ranked>> byGenre) {}
+
+    private final int windowHours;
+    private final int topK;
+    private final Map<Long, BookCounter> counters = new HashMap<>();
+    private final List<BookCounter> globalTop = new ArrayList<>();
+    private final Map<String, List<BookCounter>> genreTop = new HashMap<>();
+    private long currentHour;
+    private volatile Published published = new Published(List.of(), Map.of());
+
+    /**
+     * @param currentHour epoch'tan bu yana geçen saat; pencerenin son dilimi
+     */
+    public BestsellerBoard(int windowHours, int topK, long currentHour) {
+        this.windowHours = windowHours;
+        this.topK = topK;
+        this.currentHour = currentHour;
+    }
+
+    /**
+     * Verilen saatteki satışı ekler. Pencereden eski satışlar yok sayılır; daha ileri bir saat pencereyi kaydırır.
+     */
+    public synchronized void record(long bookId, String title, String genre, int quantity, long hour) {
+        if (hour > currentHour) {
+            advance(hour);
+        }
+        if (hour <= currentHour - windowHours || quantity <= 0) {
+            return;
+        }
+
+        BookCounter counter = counters.computeIfAbsent(bookId, id -> new BookCounter(id, windowHours));
+        counter.title = title;
+        counter.genre = genre;
+        counter.hourly[slot(hour)] += quantity;
+        counter.total += quantity;
+
+        Map<String, List<Ranked>> byGenre = published.byGenre();
+        List<Ranked> global = published.global();
+        if (promote(globalTop, counter)) {
+            global = toRanked(globalTop);
+        }
+        String key = genreKey(genre);
+        if (key != null && promote(genreTop.computeIfAbsent(key, k -> new ArrayList<>()), counter)) {
+            byGenre = new HashMap<>(byGenre);
+            byGenre.put(key, toRanked(genreTop.get(key)));
+        }
+        published = new Published(global, byGenre);
+    }
+
+    /**
+     * Pencereyi verilen saate kaydırır; düşen dilimler toplamlardan çıkarılır ve listeler yeniden hesaplanır
+     */
+    public synchronized void advance(long hour) {
+        if (hour <= currentHour) {
+            return;
+        }
+        long steps = Math.min(hour - currentHour, windowHours);
+        Iterator<BookCounter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            BookCounter counter = iterator.next();
+            for (long h = hour - steps + 1; h <= hour; h++) {
+                int slot = slot(h);
+                counter.total -= counter.hourly[slot];
+                counter.hourly[slot] = 0;
+            }
+            if (counter.total == 0) {
+                iterator.remove();
+            }
+        }
+        currentHour = hour;
+        rebuildTopLists();
+    }
+
+    /**
+     * Genel (genre null) ya da tür bazında ilk {@code limit} kitap; O(limit)
+     */
+    public List<Ranked> top(String genre, int limit) {
+        Published current = published;
+        List<Ranked> ranked = genre == null
+                ? current.global()
+                : current.byGenre().getOrDefault(genreKey(genre), List.of());
+        return ranked.size() <= limit ? ranked : ranked.subList(0, limit);
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    public synchronized int trackedBooks() {
+        return counters.size();
+    }
+
+    private void rebuildTopLists() {
+        globalTop.clear();
+        genreTop.clear();
+        for (BookCounter counter : counters.values()) {
+            promote(globalTop, counter);
+            String key = genreKey(counter.genre);
+            if (key != null) {
+                promote(genreTop.computeIfAbsent(key, k -> new ArrayList<>()), counter);
+            }
+        }
+        Map<String, List<Ranked>> byGenre = new HashMap<>();
+        genreTop.forEach((key, list) -> byGenre.put(key, toRanked(list)));
+        published = new Published(toRanked(globalTop), byGenre);
+    }
+
+    /**
+     * Toplamı artmış bir kitabı sıralı listede yerine koyar; liste değiştiyse true döner
+     */
+    private boolean promote(List<BookCounter> top, BookCounter counter) {
+        int index = top.indexOf(counter);
+        if (index < 0) {
+            if (top.size() < topK) {
+                top.add(counter);
+                index = top.size() - 1;
+            } else if (BY_SOLD.compare(counter, top.get(top.size() - 1)) < 0) {
+                index = top.size() - 1;
+                top.set(index, counter);
+            } else {
+                return false;
+            }
+        }
+        while (index > 0 && BY_SOLD.compare(top.get(index), top.get(index - 1)) < 0) {
+            Collections.swap(top, index, index - 1);
+            index--;
+        }
+        return true;
+    }
+
+    private static List<Ranked> toRanked(List<BookCounter> top) {
+        List<Ranked> ranked = new ArrayList<>(top.size());
+        for (BookCounter counter : top) {
+            ranked.add(counter.toRanked());
+        }
+        return List.copyOf(ranked);
+    }
+
+    private int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) windowHours);
+    }
+
+    private static String genreKey(String genre) {
+        return genre == null ? null : genre.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,216 @@
+package com.bookstore.ranking;
+
+import com.bookstore.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * "Bunu alanlar şunları da aldı": aynı siparişte birlikte alınan kitap çiftlerinin sayıları.
+ *
+ * Seyrek matrisin her satırı bir kitabın komşularını {@link LongIntHashMap} içinde tutar. Her satır
+ * için en sık birlikte alınan ilk N komşu ayrıca sıralı tutulur; sayılar yalnızca arttığı için bu
+ * liste her güncellemede O(N) ile düzeltilir ve okuma O(N)'dir. Kitap id'lerinin 32 bite sığdığı
+ * varsayılır (çift anahtarı iki id'den oluşur).
+ */
+public class CoPurchaseGraph {
+
+    /**
+     * Komşu kitap ve birlikte alındığı sipariş sayısı
+     */
+    public record Neighbour(long bookId, int count) {}
+
+    // Çok kalemli toplu siparişlerde çift sayısı karesel büyür; yalnızca ilk kitaplar sayılır
+    public static final int MAX_BOOKS_PER_ORDER = 100;
+
+    private static final int SEQUENTIAL_THRESHOLD = 2048;
+
+    private static final class Row {
+        final LongIntHashMap counts = new LongIntHashMap();
+        final long[] topIds;
+        final int[] topCounts;
+        int topSize;
+        volatile List<Neighbour> published = List.of();
+
+        Row(int topN) {
+            topIds = new long[topN];
+            topCounts = new int[topN];
+        }
+
+        synchronized void add(long neighbour, int delta) {
+            promote(neighbour, counts.addTo(neighbour, delta));
+            publish();
+        }
+
+        /**
+         * Sayısı artmış komşuyu sıralı listede yerine koyar
+         */
+        void promote(long neighbour, int count) {
+            int index = -1;
+            for (int i = 0; i < topSize; i++) {
+                if (topIds[i] == neighbour) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                if (topSize < topIds.length) {
+                    index = topSize++;
+                } else if (before(count, neighbour, topCounts[topSize - 1], topIds[topSize - 1])) {
+                    index = topSize - 1;
+                } else {
+                    return;
+                }
+            }
+            while (index > 0 && before(count, neighbour, topCounts[index - 1], topIds[index - 1])) {
+                topIds[index] = topIds[index - 1];
+                topCounts[index] = topCounts[index - 1];
+                index--;
+            }
+            topIds[index] = neighbour;
+            topCounts[index] = count;
+        }
+
+        void rebuildTop() {
+            topSize = 0;
+            counts.forEach(this::promote);
+            publish();
+        }
+
+        void publish() {
+            Neighbour[] neighbours = new Neighbour[topSize];
+            for (int i = 0; i < topSize; i++) {
+                neighbours[i] = new Neighbour(topIds[i], topCounts[i]);
+            }
+            published = List.of(neighbours);
+        }
+
+        private static boolean before(int count, long id, int otherCount, long otherId) {
+            return count > otherCount || (count == otherCount && id < otherId);
+        }
+    }
+
+    private final int topN;
+    private final ConcurrentHashMap<Long, Row> rows;
+
+    public CoPurchaseGraph(int topN) {
+        this(topN, new ConcurrentHashMap<>());
+    }
+
+    private CoPurchaseGraph(int topN, ConcurrentHashMap<Long, Row> rows) {
+        this.topN = topN;
+        this.rows = rows;
+    }
+
+    /**
+     * Geçmiş siparişlerden (her biri kitap id dizisi) grafı kurar. Çiftler fork/join ile
+     * parçalar halinde sayılıp birleştirilir, satırların ilk N listeleri paralel hesaplanır.
+     */
+    public static CoPurchaseGraph build(long[][] orders, int topN, ForkJoinPool pool) {
+        LongIntHashMap pairs = pool.invoke(new PairCountTask(orders, 0, orders.length));
+
+        Map<Long, Row> built = new HashMap<>();
+        pairs.forEach((pair, count) -> {
+            long first = pair >>> 32;
+            long second = pair & 0xFFFFFFFFL;
+            built.computeIfAbsent(first, id -> new Row(topN)).counts.addTo(second, count);
+            built.computeIfAbsent(second, id -> new Row(topN)).counts.addTo(first, count);
+        });
+        pool.submit(() -> built.values().parallelStream().forEach(Row::rebuildTop)).join();
+
+        return new CoPurchaseGraph(topN, new ConcurrentHashMap<>(built));
+    }
+
+    /**
+     * Yeni bir siparişin kitaplarını ekler
+     */
+    public void addOrder(long[] bookIds) {
+        long[] books = distinct(bookIds);
+        for (int i = 0; i < books.length; i++) {
+            Row row = rows.computeIfAbsent(books[i], id -> new Row(topN));
+            for (int j = 0; j < books.length; j++) {
+                if (i != j) {
+                    row.add(books[j], 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * En sık birlikte alınan ilk {@code limit} kitap; O(limit)
+     */
+    public List<Neighbour> neighbours(long bookId, int limit) {
+        Row row = rows.get(bookId);
+        if (row == null) {
+            return List.of();
+        }
+        List<Neighbour> top = row.published;
+        return top.size() <= limit ? top : top.subList(0, limit);
+    }
+
+    public int topN() {
+        return topN;
+    }
+
+    public int books() {
+        return rows.size();
+    }
+
+    static long[] distinct(long[] bookIds) {
+        long[] sorted = bookIds.clone();
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length && unique < MAX_BOOKS_PER_ORDER; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    private static final class PairCountTask extends RecursiveTask<LongIntHashMap> {
+        private final long[][] orders;
+        private final int from;
+        private final int to;
+
+        PairCountTask(long[][] orders, int from, int to) {
+            this.orders = orders;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongIntHashMap compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                LongIntHashMap pairs = new LongIntHashMap(to - from);
+                for (int i = from; i < to; i++) {
+                    long[] books = distinct(orders[i]);
+                    for (int a = 0; a < books.length; a++) {
+                        for (int b = a + 1; b < books.length; b++) {
+                            // Sıralı olduğu için books[a] < books[b]; her çift tek anahtarla sayılır
+                            pairs.addTo((books[a] << 32) | books[b], 1);
+                        }
+                    }
+                }
+                return pairs;
+            }
+            int middle = (from + to) >>> 1;
+            PairCountTask left = new PairCountTask(orders, from, middle);
+            left.fork();
+            LongIntHashMap right = new PairCountTask(orders, middle, to).compute();
+            LongIntHashMap merged = left.join();
+            // Küçük olan büyüğe eklenir
+            if (merged.size() < right.size()) {
+                right.addAll(merged);
+                return right;
+            }
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bookstore.repository;
+
+import com.bookstore.dto.BookDTO;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Kitap sorgularında ortak kullanılan JPQL ve SQL parçaları
+ */
+public final class BookQueries {
+
+    /**
+     * Book + author/genre/publisher birleşimini BookDTO'ya dönüştüren SELECT/FROM kısmı
+     */
+    public static final String BOOK_DTO_SELECT = """
+        SELECT new com.bookstore.dto.BookDTO(
+            b.id, b.title, b.isbn, 
+            CONCAT(a.firstName, ' ', a.lastName), 
+            g.name, p.name, 
+            b.publicationDate, b.price, b.format, 
+            b.description, b.coverImageUrl, b.createdAt
+        )
+        FROM Book b
+        LEFT JOIN b.author a
+        LEFT JOIN b.genre g
+        LEFT JOIN b.publisher p
+        """;
+
+    /**
+     * BOOK_DTO_SELECT'in native SQL karşılığı; satırlar {@link #toBookDTO(Object[])} ile dönüştürülür
+     */
+    public static final String BOOK_ROW_SELECT = """
+        SELECT b.book_id, b.title, b.isbn,
+               a.first_name || ' ' || a.last_name,
+               g.name, p.name,
+               b.publication_date, b.price, b.format,
+               b.description, b.cover_image_url, b.created_at
+        FROM books b
+        LEFT JOIN authors a ON a.author_id = b.author_id
+        LEFT JOIN genres g ON g.genre_id = b.genre_id
+        LEFT JOIN publishers p ON p.publisher_id = b.publisher_id
+        """;
+
+    private BookQueries() {}
+
+    /**
+     * BOOK_ROW_SELECT ile okunan bir satırı BookDTO'ya dönüştürür
+     */
+    public static BookDTO toBookDTO(Object[] row) {
+        return new BookDTO(
+            ((Number) row[0]).longValue(),
+            (String) row[1],
+            (String) row[2],
+            (String) row[3],
+            (String) row[4],
+            (String) row[5],
+            toLocalDate(row[6]),
+            (BigDecimal) row[7],
+            (String) row[8],
+            (String) row[9],
+            (String) row[10],
+            toLocalDateTime(row[11]));
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookstore.repository;
+
+import com.bookstore.dto.CartItemDTO;
+import com.bookstore.entity.ShoppingCartItem;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+public class CartRepository implements PanacheRepository<ShoppingCartItem> {
+
+    /**
+     * Upsert sırasında mevcut adet ile gelen adedin nasıl birleştirileceği
+     */
+    public enum Merge {
+        /** Gelen adet eklenir (sepete ekle) */
+        ADD("shopping_cart.quantity + EXCLUDED.quantity"),
+        /** Gelen adet yazılır (adet güncelle) */
+        REPLACE("EXCLUDED.quantity"),
+        /** Büyük olan kalır; aynı sepet iki kez senkronize edilse de adetler katlanmaz */
+        GREATEST("GREATEST(shopping_cart.quantity, EXCLUDED.quantity)");
+
+        private final String expression;
+
+        Merge(String expression) {
+            this.expression = expression;
+        }
+    }
+
+    /**
+     * Sepeti kitap başlığı, fiyatı ve yazarıyla birlikte tek sorguda okur
+     */
+    public List<CartItemDTO> findItems(Long customerId) {
+        return getEntityManager().createQuery("""
+                SELECT new com.bookstore.dto.CartItemDTO(
+                    b.id, b.title, CONCAT(a.firstName, ' ', a.lastName), g.name,
+                    b.price, b.format, b.coverImageUrl, c.quantity, c.addedAt
+                )
+                FROM ShoppingCartItem c
+                JOIN c.book b
+                LEFT JOIN b.author a
+                LEFT JOIN b.genre g
+                WHERE c.customerId = :customerId
+                ORDER BY c.addedAt, b.id
+                """, CartItemDTO.class)
+                .setParameter("customerId", customerId)
+                .getResultList();
+    }
+
+    /**
+     * Tüm satırları tek bir INSERT ... ON CONFLICT ile yazar; adet üst sınırı veritabanında uygulanır
+     */
+    public void upsert(Long customerId, Map<Long, Integer> quantities, Merge merge, int maxQuantity) {
+        StringBuilder sql = new StringBuilder("INSERT INTO shopping_cart (customer_id, book_id, quantity, added_at) VALUES ");
+        int position = 2;
+        for (int i = 0; i < quantities.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?1, ?").append(position++).append(", ?").append(position++).append(", CURRENT_TIMESTAMP)");
+        }
+        sql.append(" ON CONFLICT (customer_id, book_id) DO UPDATE SET quantity = LEAST(")
+           .append(merge.expression).append(", ").append(maxQuantity).append(")");
+
+        Query query = getEntityManager().createNativeQuery(sql.toString());
+        query.setParameter(1, customerId);
+        position = 2;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            query.setParameter(position++, line.getKey());
+            query.setParameter(position++, Math.min(line.getValue(), maxQuantity));
+        }
+        query.executeUpdate();
+    }
+
+    public long removeItem(Long customerId, Long bookId) {
+        return delete("customerId = ?1 and book.id = ?2", customerId, bookId);
+    }
+
+    public long clear(Long customerId) {
+        return delete("customerId", customerId);
+    }
+}
@@ -1,8 +1,16 @@
 package com.bookstore.repository;
 
+import com.bookstore.dto.LoginCredentials;
 import com.bookstore.entity.Customer;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ApplicationScoped
 public class CustomerRepository implements PanacheRepository<Customer> {
@@ -14,6 +22,40 @@ public class CustomerRepository implements PanacheRepository<Customer> {
         return find("username", username).firstResult();
     }
     
+    /**
+     * Giriş için gereken alanları ve rol adlarını tek sorguda okur; kullanıcı yoksa null döner
+     */
+    @SuppressWarnings("unchecked")
+    public LoginCredentials findLoginCredentials(String username) {
+        List<Object[]> rows = getEntityManager().createNativeQuery("""
+                SELECT c.customer_id, c.username, c.first_name, c.last_name, c.email,
+                       c.password_hash, c.is_active, string_agg(r.name, ',')
+                FROM customers c
+                LEFT JOIN user_roles ur ON ur.user_id = c.customer_id
+                LEFT JOIN roles r ON r.role_id = ur.role_id
+                WHERE c.username = :username
+                GROUP BY c.customer_id
+                """)
+                .setParameter("username", username)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Object[] row = rows.get(0);
+        String roleNames = (String) row[7];
+        Set<String> roles = roleNames == null ? Set.of() : Set.of(roleNames.split(","));
+        return new LoginCredentials(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                Boolean.TRUE.equals(row[6]),
+                roles);
+    }
+
     /**
      * Email adresine göre kullanıcı bulur
      */
@@ -34,5 +76,39 @@ public class CustomerRepository implements PanacheRepository<Customer> {
     public Customer findByUsernameOrEmail(String usernameOrEmail) {
         return find("username = ?1 or email = ?1", usernameOrEmail).firstResult();
     }
-}
 
+    /**
+     * Birden fazla kullanıcının son giriş zamanını tek bir UPDATE ... FROM (VALUES ...) ile yazar.
+     * Veritabanındaki değer daha yeniyse değiştirilmez.
+     */
+    @Transactional
+    public int updateLastLogins(Map<Long, LocalDateTime> lastLogins) {
+        StringBuilder sql = new StringBuilder("UPDATE customers c SET last_login = v.last_login FROM (VALUES ");
+        int position = 1;
+        for (int i = 0; i < lastLogins.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(?").append(position++).append(" AS BIGINT), CAST(?").append(position++).append(" AS TIMESTAMP))");
+        }
+        sql.append(") AS v(customer_id, last_login)")
+           .append(" WHERE c.customer_id = v.customer_id")
+           .append(" AND (c.last_login IS NULL OR c.last_login < v.last_login)");
+
+        Query query = getEntityManager().createNativeQuery(sql.toString());
+        position = 1;
+        for (Map.Entry<Long, LocalDateTime> entry : lastLogins.entrySet()) {
+            query.setParameter(position++, entry.getKey());
+            query.setParameter(position++, entry.getValue());
+        }
+        return query.executeUpdate();
+    }
+
+    /**
+     * Kullanıcının şifre hash'ini entity yüklemeden günceller
+     */
+    @Transactional
+    public void updatePasswordHash(Long customerId, String passwordHash) {
+        update("passwordHash = ?1 where id = ?2", passwordHash, customerId);
+    }
+}
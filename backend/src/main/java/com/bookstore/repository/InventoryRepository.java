@@ -0,0 +1,60 @@
+package com.bookstore.repository;
+
+import com.bookstore.entity.Inventory;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+public class InventoryRepository implements PanacheRepository<Inventory> {
+
+    /**
+     * Tüm stok kayıtlarını (kitap id, adet) olarak okur; entity yüklenmez
+     */
+    public List<Object[]> findAllQuantities() {
+        return getEntityManager()
+                .createQuery("SELECT i.book.id, i.quantity FROM Inventory i", Object[].class)
+                .getResultList();
+    }
+
+    public boolean bookExists(long bookId) {
+        return !getEntityManager()
+                .createNativeQuery("SELECT 1 FROM books WHERE book_id = ?1")
+                .setParameter(1, bookId)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Adet farklarını tek bir INSERT ... ON CONFLICT ile uygular; kaydı olmayan kitap için satır açılır.
+     * Fark olarak yazıldığı için veritabanında bu arada yapılan değişiklikler ezilmez.
+     */
+    @Transactional
+    public void applyDeltas(Map<Long, Integer> deltas) {
+        StringBuilder sql = new StringBuilder("INSERT INTO inventory (book_id, quantity, last_updated) VALUES ");
+        int position = 1;
+        for (int i = 0; i < deltas.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(?").append(position++).append(", ?").append(position++).append(", CURRENT_TIMESTAMP)");
+        }
+        sql.append("""
+                 ON CONFLICT (book_id) DO UPDATE
+                SET quantity = inventory.quantity + EXCLUDED.quantity,
+                    last_updated = EXCLUDED.last_updated
+                """);
+
+        Query query = getEntityManager().createNativeQuery(sql.toString());
+        position = 1;
+        for (Map.Entry<Long, Integer> delta : deltas.entrySet()) {
+            query.setParameter(position++, delta.getKey());
+            query.setParameter(position++, delta.getValue());
+        }
+        query.executeUpdate();
+    }
+}
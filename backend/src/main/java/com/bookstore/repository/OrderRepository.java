@@ -0,0 +1,59 @@
+package com.bookstore.repository;
+
+import com.bookstore.dto.OrderCursor;
+import com.bookstore.dto.OrderDTO;
+import com.bookstore.entity.Order;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+@ApplicationScoped
+public class OrderRepository implements PanacheRepository<Order> {
+
+    /**
+     * Müşterinin siparişlerini yeniden eskiye, imleçten sonrasından okur; satırlar yüklenmez.
+     * Sıralama (customer_id, order_date DESC, order_id DESC) indeksiyle aynıdır; fazladan
+     * "o.orderDate <= :date" koşulu indeks taramasının imleçten başlamasını sağlar.
+     */
+    public List<OrderDTO> findPage(Long customerId, OrderCursor after, int limit) {
+        String jpql = """
+                SELECT new com.bookstore.dto.OrderDTO(
+                    o.id, o.orderDate, o.status, o.totalPrice, o.shippingAddress, o.paymentMethod
+                )
+                FROM Order o
+                WHERE o.customerId = :customerId
+                """
+                + (after == null ? "" : """
+                  AND o.orderDate <= :date
+                  AND (o.orderDate < :date OR o.id < :id)
+                """)
+                + "ORDER BY o.orderDate DESC, o.id DESC";
+
+        TypedQuery<OrderDTO> query = getEntityManager().createQuery(jpql, OrderDTO.class)
+                .setParameter("customerId", customerId)
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("date", after.orderDate)
+                 .setParameter("id", after.orderId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Verilen siparişlerin tüm satırlarını kitap başlığıyla tek sorguda okur:
+     * (sipariş id, kitap id, başlık, adet, birim fiyat, toplam)
+     */
+    public List<Object[]> findItems(List<Long> orderIds) {
+        return getEntityManager().createQuery("""
+                SELECT i.order.id, b.id, b.title, i.quantity, i.unitPrice, i.totalPrice
+                FROM OrderItem i
+                JOIN i.book b
+                WHERE i.order.id IN :orderIds
+                ORDER BY i.order.id, i.id
+                """, Object[].class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+}
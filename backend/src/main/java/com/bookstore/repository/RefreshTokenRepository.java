@@ -0,0 +1,86 @@
+package com.bookstore.repository;
+
+import com.bookstore.entity.RefreshToken;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@ApplicationScoped
+public class RefreshTokenRepository implements PanacheRepositoryBase<RefreshToken, String> {
+
+    /**
+     * Süresi dolmamış token'ları sahibinin kullanıcı adı, email ve rolleriyle birlikte okur
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findUnexpiredWithOwner(LocalDateTime now) {
+        return getEntityManager().createNativeQuery("""
+                SELECT t.token_hash, t.family_id, t.customer_id, c.username, c.email,
+                       string_agg(r.name, ','), t.expires_at, t.used_at, t.revoked_at
+                FROM refresh_tokens t
+                JOIN customers c ON c.customer_id = t.customer_id
+                LEFT JOIN user_roles ur ON ur.user_id = c.customer_id
+                LEFT JOIN roles r ON r.role_id = ur.role_id
+                WHERE t.expires_at > :now AND c.is_active
+                GROUP BY t.token_hash, c.customer_id
+                """)
+                .setParameter("now", now)
+                .getResultList();
+    }
+
+    /**
+     * Yeni token'ları, kullanım ve aile iptali işaretlerini tek transaction içinde yazar.
+     * Sıra önemlidir: aynı partide eklenen bir token aynı partide kullanılmış olarak işaretlenebilir.
+     */
+    @Transactional
+    public void applyChanges(List<RefreshToken> inserts, Map<String, LocalDateTime> used, Map<UUID, LocalDateTime> revokedFamilies) {
+        for (RefreshToken token : inserts) {
+            persist(token);
+        }
+        if (!inserts.isEmpty()) {
+            getEntityManager().flush();
+        }
+        if (!used.isEmpty()) {
+            updateFromValues("used_at", "token_hash", "VARCHAR", used);
+        }
+        if (!revokedFamilies.isEmpty()) {
+            updateFromValues("revoked_at", "family_id", "UUID", revokedFamilies);
+        }
+    }
+
+    /**
+     * Süresi dolmuş kayıtları siler
+     */
+    @Transactional
+    public long deleteExpired(LocalDateTime now) {
+        return delete("expiresAt <= ?1", now);
+    }
+
+    private void updateFromValues(String column, String keyColumn, String keyType, Map<?, LocalDateTime> values) {
+        StringBuilder sql = new StringBuilder("UPDATE refresh_tokens t SET ").append(column)
+                .append(" = v.changed_at FROM (VALUES ");
+        int position = 1;
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(?").append(position++).append(" AS ").append(keyType)
+               .append("), CAST(?").append(position++).append(" AS TIMESTAMP))");
+        }
+        sql.append(") AS v(key, changed_at) WHERE t.").append(keyColumn).append(" = v.key AND t.")
+           .append(column).append(" IS NULL");
+
+        Query query = getEntityManager().createNativeQuery(sql.toString());
+        position = 1;
+        for (Map.Entry<?, LocalDateTime> entry : values.entrySet()) {
+            query.setParameter(position++, entry.getKey().toString());
+            query.setParameter(position++, entry.getValue());
+        }
+        query.executeUpdate();
+    }
+}
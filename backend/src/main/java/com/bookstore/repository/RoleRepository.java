@@ -3,15 +3,16 @@ package com.bookstore.repository;
 import com.bookstore.entity.Role;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class RoleRepository implements PanacheRepository<Role> {
     
     /**
-     * Rol adına göre rol bulur
+     * Rol adına göre rol bulur; sonuç sorgu önbelleğinden gelebilir
      */
     public Role findByName(String name) {
-        return find("name", name).firstResult();
+        return find("name", name).withHint(HibernateHints.HINT_CACHEABLE, true).firstResult();
     }
 }
 
@@ -0,0 +1,108 @@
+package com.bookstore.resource;
+
+import com.bookstore.security.Secured;
+import com.bookstore.security.TokenBucketLimiter.KeyStats;
+import com.bookstore.service.AuthRateLimiter;
+import com.bookstore.service.ReferenceDataCache;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+@Path("/api/admin")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Admin", description = "Yönetim ve izleme işlemleri")
+@Secured
+public class AdminResource {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    @Inject
+    AuthRateLimiter rateLimiter;
+
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
+    @GET
+    @Path("/rate-limits")
+    @Operation(summary = "Hız sınırı istatistikleri", description = "En çok reddedilen IP adreslerini ve kullanıcı adlarını döndürür")
+    public Response getRateLimits(@QueryParam("limit") @DefaultValue("50") int limit,
+                                  @Context SecurityContext securityContext) {
+        if (!securityContext.isUserInRole(ADMIN_ROLE)) {
+            return forbidden();
+        }
+        int size = Math.max(1, Math.min(limit, 1000));
+        return Response.ok(new RateLimitStats(
+                rateLimiter.topRejectedIps(size),
+                rateLimiter.topRejectedUsernames(size))).build();
+    }
+
+    @GET
+    @Path("/cache")
+    @Operation(summary = "Önbellek istatistikleri", description = "Referans verisi önbellek bölgelerinin isabet/ıskalama oranlarını döndürür")
+    public Response getCacheStats(@Context SecurityContext securityContext) {
+        if (!securityContext.isUserInRole(ADMIN_ROLE)) {
+            return forbidden();
+        }
+        return Response.ok(referenceDataCache.stats()).build();
+    }
+
+    @DELETE
+    @Path("/cache")
+    @Operation(summary = "Önbelleği temizle", description = "Tüm referans verisi bölgelerini ve sorgu önbelleğini boşaltır")
+    public Response evictCache(@Context SecurityContext securityContext) {
+        if (!securityContext.isUserInRole(ADMIN_ROLE)) {
+            return forbidden();
+        }
+        referenceDataCache.evictAll();
+        return Response.noContent().build();
+    }
+
+    @DELETE
+    @Path("/cache/{region}")
+    @Operation(summary = "Önbellek bölgesini temizle", description = "author, genre, publisher, role veya queries bölgesini boşaltır")
+    public Response evictCacheRegion(@PathParam("region") String region, @Context SecurityContext securityContext) {
+        if (!securityContext.isUserInRole(ADMIN_ROLE)) {
+            return forbidden();
+        }
+        if (!referenceDataCache.evict(region)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse("Unknown cache region: " + region))
+                    .build();
+        }
+        return Response.noContent().build();
+    }
+
+    private static Response forbidden() {
+        return Response.status(Response.Status.FORBIDDEN)
+                .entity(new ErrorResponse("Admin role required"))
+                .build();
+    }
+
+    public static class RateLimitStats {
+        public List<KeyStats> ips;
+        public List<KeyStats> usernames;
+
+        public RateLimitStats(List<KeyStats> ips, List<KeyStats> usernames) {
+            this.ips = ips;
+            this.usernames = usernames;
+        }
+    }
+
+    public static class ErrorResponse {
+        private String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -1,10 +1,15 @@
 package com.bookstore.resource;
 
+import com.bookstore.service.AuthRateLimiter;
 import com.bookstore.service.AuthenticationService;
 import com.bookstore.service.AuthenticationService.LoginResponse;
 import com.bookstore.service.AuthenticationService.RegisterRequest;
+import com.bookstore.service.AuthenticationService.TokenPair;
+import com.bookstore.service.HashingUnavailableException;
+import io.vertx.core.http.HttpServerRequest;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
@@ -19,13 +24,25 @@ public class AuthResource {
     @Inject
     AuthenticationService authenticationService;
 
+    @Inject
+    AuthRateLimiter rateLimiter;
+
     @POST
     @Path("/login")
     @Operation(summary = "Kullanıcı girişi", description = "Kullanıcı adı ve şifre ile giriş yapar")
-    public Response login(LoginRequest request) {
+    public Response login(LoginRequest request, @Context HttpServerRequest httpRequest) {
+        if (request == null) {
+            return missingBody();
+        }
+        long retryAfter = rateLimiter.check(clientIp(httpRequest), request.getUsername());
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter);
+        }
         try {
             LoginResponse response = authenticationService.login(request.getUsername(), request.getPassword());
             return Response.ok(response).build();
+        } catch (HashingUnavailableException e) {
+            return serviceUnavailable(e);
         } catch (RuntimeException e) {
             return Response.status(Response.Status.UNAUTHORIZED)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -36,12 +53,21 @@ public class AuthResource {
     @POST
     @Path("/register")
     @Operation(summary = "Kullanıcı kaydı", description = "Yeni kullanıcı kaydı oluşturur")
-    public Response register(RegisterRequest request) {
+    public Response register(RegisterRequest request, @Context HttpServerRequest httpRequest) {
+        if (request == null) {
+            return missingBody();
+        }
+        long retryAfter = rateLimiter.check(clientIp(httpRequest), request.getUsername());
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter);
+        }
         try {
             var customer = authenticationService.register(request);
             return Response.status(Response.Status.CREATED)
                     .entity(new SuccessResponse("Kullanıcı başarıyla oluşturuldu", customer))
                     .build();
+        } catch (HashingUnavailableException e) {
+            return serviceUnavailable(e);
         } catch (RuntimeException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -51,11 +77,18 @@ public class AuthResource {
 
     @POST
     @Path("/refresh")
-    @Operation(summary = "Token yenileme", description = "Refresh token ile yeni access token oluşturur")
-    public Response refreshToken(RefreshTokenRequest request) {
+    @Operation(summary = "Token yenileme", description = "Refresh token'ı tek seferlik kullanır; yeni access ve refresh token döner")
+    public Response refreshToken(RefreshTokenRequest request, @Context HttpServerRequest httpRequest) {
+        if (request == null) {
+            return missingBody();
+        }
+        long retryAfter = rateLimiter.check(clientIp(httpRequest), null);
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter);
+        }
         try {
-            String newAccessToken = authenticationService.refreshToken(request.getRefreshToken());
-            return Response.ok(new TokenResponse(newAccessToken)).build();
+            TokenPair tokens = authenticationService.refreshToken(request.getRefreshToken());
+            return Response.ok(new TokenResponse(tokens.getAccessToken(), tokens.getRefreshToken())).build();
         } catch (RuntimeException e) {
             return Response.status(Response.Status.UNAUTHORIZED)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -63,6 +96,30 @@ public class AuthResource {
         }
     }
 
+    private Response missingBody() {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponse("İstek gövdesi boş olamaz"))
+                .build();
+    }
+
+    private Response tooManyRequests(long retryAfterSeconds) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header("Retry-After", retryAfterSeconds)
+                .entity(new ErrorResponse("Çok fazla deneme, lütfen daha sonra tekrar deneyin"))
+                .build();
+    }
+
+    private static String clientIp(HttpServerRequest httpRequest) {
+        return httpRequest.remoteAddress() == null ? null : httpRequest.remoteAddress().host();
+    }
+
+    private Response serviceUnavailable(HashingUnavailableException e) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", e.getRetryAfterSeconds())
+                .entity(new ErrorResponse(e.getMessage()))
+                .build();
+    }
+
     // Request/Response sınıfları
     public static class LoginRequest {
         private String username;
@@ -83,13 +140,17 @@ public class AuthResource {
 
     public static class TokenResponse {
         private String accessToken;
+        private String refreshToken;
 
-        public TokenResponse(String accessToken) {
+        public TokenResponse(String accessToken, String refreshToken) {
             this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
         }
 
         public String getAccessToken() { return accessToken; }
         public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
+        public String getRefreshToken() { return refreshToken; }
+        public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
     }
 
     public static class ErrorResponse {
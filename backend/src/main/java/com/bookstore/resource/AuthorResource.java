@@ -1,14 +1,19 @@
 package com.bookstore.resource;
 
 import com.bookstore.entity.Author;
+import com.bookstore.service.CatalogVersion;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 
@@ -22,12 +27,23 @@ public class AuthorResource {
     @PersistenceContext
     EntityManager entityManager;
 
+    @Inject
+    CatalogVersion catalogVersion;
+
     @GET
     @Operation(summary = "Get all authors", description = "Retrieve a list of all authors")
-    public Response getAllAuthors() {
+    public Response getAllAuthors(@Context Request request) {
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
         try {
-            List<Author> authors = entityManager.createQuery("SELECT a FROM Author a", Author.class).getResultList();
-            return Response.ok(authors).build();
+            List<Author> authors = entityManager.createQuery("SELECT a FROM Author a", Author.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+            return validators.apply(Response.ok(authors)).build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error fetching authors: " + e.getMessage())
@@ -38,7 +54,13 @@ public class AuthorResource {
     @GET
     @Path("/{id}")
     @Operation(summary = "Get author by ID", description = "Retrieve a specific author by ID")
-    public Response getAuthorById(@PathParam("id") Long id) {
+    public Response getAuthorById(@PathParam("id") Long id, @Context Request request) {
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
         try {
             Author author = entityManager.find(Author.class, id);
             if (author == null) {
@@ -46,7 +68,7 @@ public class AuthorResource {
                     .entity("Author not found")
                     .build();
             }
-            return Response.ok(author).build();
+            return validators.apply(Response.ok(author)).build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error fetching author: " + e.getMessage())
@@ -1,17 +1,47 @@
 package com.bookstore.resource;
 
+import com.bookstore.catalog.CatalogFilter;
+import com.bookstore.catalog.CatalogSnapshot;
+import com.bookstore.catalog.Facet;
+import com.bookstore.dto.BestsellerDTO;
+import com.bookstore.dto.BookBatchDTO;
+import com.bookstore.dto.BookCursor;
 import com.bookstore.dto.BookDTO;
-import com.bookstore.entity.Book;
+import com.bookstore.dto.BookPageDTO;
+import com.bookstore.dto.BrowsePageDTO;
+import com.bookstore.dto.RecommendationDTO;
+import com.bookstore.dto.SuggestionDTO;
+import com.bookstore.ranking.BestsellerBoard.Ranked;
+import com.bookstore.ranking.CoPurchaseGraph.Neighbour;
+import com.bookstore.repository.BookQueries;
+import com.bookstore.service.BestsellerService;
+import com.bookstore.service.BookSearchService;
+import com.bookstore.service.CatalogExportService;
+import com.bookstore.service.CatalogSnapshotService;
+import com.bookstore.service.CatalogVersion;
+import com.bookstore.service.InventoryService;
+import com.bookstore.service.RecommendationService;
+import com.bookstore.service.SuggestService;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Path("/api/books")
 @Produces(MediaType.APPLICATION_JSON)
@@ -23,29 +53,76 @@ public class BookResource {
     @PersistenceContext
     EntityManager entityManager;
 
+    @Inject
+    BookSearchService bookSearchService;
+
+    @Inject
+    CatalogExportService catalogExportService;
+
+    @Inject
+    CatalogVersion catalogVersion;
+
+    @Inject
+    CatalogSnapshotService catalogSnapshotService;
+
+    @Inject
+    SuggestService suggestService;
+
+    @Inject
+    InventoryService inventoryService;
+
+    @Inject
+    BestsellerService bestsellerService;
+
+    @Inject
+    RecommendationService recommendationService;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SUGGESTIONS = 8;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int DEFAULT_BESTSELLERS = 5;
+    private static final int DEFAULT_RECOMMENDATIONS = 10;
+
     @GET
-    @Operation(summary = "Get all books", description = "Retrieve a list of all books with author, genre, and publisher information")
-    public Response getAllBooks() {
+    @Operation(summary = "Get all books", description = "Retrieve a page of books ordered by title; pass the returned 'next' cursor to fetch the following page. "
+        + "author, genre and publisher match case-insensitively on a substring, format matches exactly")
+    public Response getAllBooks(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                                @QueryParam("author") String author, @QueryParam("genre") String genre,
+                                @QueryParam("publisher") String publisher, @QueryParam("format") String format,
+                                @Context Request request) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Limit must be between 1 and " + MAX_PAGE_SIZE)
+                .build();
+        }
+
+        BookCursor after;
         try {
-            String jpql = """
-                SELECT new com.bookstore.dto.BookDTO(
-                    b.id, b.title, b.isbn, 
-                    CONCAT(a.firstName, ' ', a.lastName), 
-                    g.name, p.name, 
-                    b.publicationDate, b.price, b.format, 
-                    b.description, b.coverImageUrl, b.createdAt
-                )
-                FROM Book b
-                LEFT JOIN b.author a
-                LEFT JOIN b.genre g
-                LEFT JOIN b.publisher p
-                ORDER BY b.title
-                """;
-            
-            List<BookDTO> books = entityManager.createQuery(jpql, BookDTO.class)
-                .getResultList();
-            
-            return Response.ok(books).build();
+            after = cursor == null || cursor.isBlank() ? null : BookCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage())
+                .build();
+        }
+
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        CatalogFilter filter = CatalogFilter.of(author, genre, publisher, format);
+        try {
+            CatalogSnapshot snapshot = catalogSnapshotService.current(validators);
+            BookPageDTO page = snapshot == null ? null : snapshot.page(filter, after, pageSize);
+            if (page == null) {
+                page = findPage(filter, after, pageSize);
+            }
+            page.items = inventoryService.withAvailability(page.items);
+            return validators.apply(Response.ok(page)).build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error fetching books: " + e.getMessage())
@@ -53,38 +130,219 @@ public class BookResource {
         }
     }
 
+    @GET
+    @Path("/browse")
+    @Operation(summary = "Browse books with facets", description = "Retrieve a page of books ordered by title together with counts per genre, format, publisher, price range and publication decade. "
+        + "Facet parameters take the values returned in 'facets' and may be repeated; q narrows the catalog with a text search")
+    public Response browseBooks(@QueryParam("q") String query,
+                                @QueryParam("genre") List<String> genres,
+                                @QueryParam("format") List<String> formats,
+                                @QueryParam("publisher") List<String> publishers,
+                                @QueryParam("price") List<String> prices,
+                                @QueryParam("decade") List<String> decades,
+                                @QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                                @Context Request request) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Limit must be between 1 and " + MAX_PAGE_SIZE)
+                .build();
+        }
+
+        BookCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : BookCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage())
+                .build();
+        }
+
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        try {
+            // Facet counts come from the snapshot bitmaps; there is no database fallback
+            CatalogSnapshot snapshot = catalogSnapshotService.latest();
+            boolean textSearch = query != null && !query.isBlank();
+            // Checked before the search: the index catches up in the background and may lag the version
+            boolean searchCurrent = !textSearch || bookSearchService.isCurrent(validators.version());
+            // Ids come from the configured search engine; null only while the search index is still building
+            long[] matchingIds = textSearch ? bookSearchService.matchingBookIds(query.trim()) : null;
+            if (snapshot == null || (textSearch && matchingIds == null)) {
+                return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", 1)
+                    .entity("Catalog browsing is not available yet")
+                    .build();
+            }
+
+            Map<Facet, List<String>> selected = new EnumMap<>(Facet.class);
+            selected.put(Facet.GENRE, genres);
+            selected.put(Facet.FORMAT, formats);
+            selected.put(Facet.PUBLISHER, publishers);
+            selected.put(Facet.PRICE, prices);
+            selected.put(Facet.DECADE, decades);
+
+            BrowsePageDTO page = snapshot.browse(matchingIds, selected, after, pageSize);
+            if (page == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Cursor is no longer valid, start from the first page")
+                    .build();
+            }
+            page.items = inventoryService.withAvailability(page.items);
+            // Only tag the response when the snapshot and the search index match the current catalog version
+            Response.ResponseBuilder response = Response.ok(page);
+            return snapshot.version() == validators.version() && searchCurrent
+                ? validators.apply(response).build() : response.build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Error browsing books: " + e.getMessage())
+                .build();
+        }
+    }
+
+    @GET
+    @Path("/suggest")
+    @Operation(summary = "Suggest completions", description = "Return the most popular titles, authors and genres starting with the given prefix; word starts inside titles and names also match")
+    public Response suggest(@QueryParam("prefix") String prefix, @QueryParam("limit") Integer limit) {
+        int maxResults = limit == null ? DEFAULT_SUGGESTIONS : limit;
+        if (maxResults < 1 || maxResults > MAX_SUGGESTIONS) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Limit must be between 1 and " + MAX_SUGGESTIONS)
+                .build();
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return Response.ok(List.of()).build();
+        }
+
+        List<SuggestionDTO> suggestions = suggestService.suggest(prefix, maxResults);
+        return Response.ok(suggestions).build();
+    }
+
+    @GET
+    @Path("/bestsellers")
+    @Operation(summary = "Bestsellers", description = "Best-selling books of the sales window (default 7 days), overall or for one genre. "
+        + "Served from memory without querying the database")
+    public Response getBestsellers(@QueryParam("genre") String genre, @QueryParam("limit") Integer limit) {
+        int size = limit == null ? DEFAULT_BESTSELLERS : limit;
+        if (size < 1 || size > bestsellerService.topK()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Limit must be between 1 and " + bestsellerService.topK())
+                .build();
+        }
+
+        List<Ranked> ranked = bestsellerService.top(genre == null || genre.isBlank() ? null : genre.trim(), size);
+        // Book details come from the in-memory snapshot; without it only the ranking's own fields are known
+        CatalogSnapshot snapshot = catalogSnapshotService.latest();
+        List<BestsellerDTO> bestsellers = new ArrayList<>(ranked.size());
+        for (Ranked entry : ranked) {
+            BookDTO book = snapshot == null ? null : snapshot.get(entry.bookId());
+            if (book == null) {
+                book = new BookDTO();
+                book.bookId = entry.bookId();
+                book.title = entry.title();
+                book.genreName = entry.genre();
+            }
+            bestsellers.add(new BestsellerDTO(bestsellers.size() + 1, entry.sold(), inventoryService.withAvailability(book)));
+        }
+        return Response.ok(bestsellers).build();
+    }
+
+    @GET
+    @Path("/export")
+    @Produces({"application/x-ndjson", "text/csv"})
+    @Operation(summary = "Export catalog", description = "Stream the full catalog as newline-delimited JSON (format=ndjson) or CSV (format=csv)")
+    public Response exportBooks(@QueryParam("format") @DefaultValue("ndjson") String format) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return Response.ok(catalogExportService.csv(), "text/csv; charset=UTF-8")
+                .header("Content-Disposition", "attachment; filename=\"books.csv\"")
+                .build();
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return Response.ok(catalogExportService.ndjson(), "application/x-ndjson")
+                .header("Content-Disposition", "attachment; filename=\"books.ndjson\"")
+                .build();
+        }
+        return Response.status(Response.Status.BAD_REQUEST)
+            .type(MediaType.TEXT_PLAIN)
+            .entity("Unsupported export format: " + format)
+            .build();
+    }
+
+    @GET
+    @Path("/batch")
+    @Operation(summary = "Get books by IDs", description = "Resolve a comma-separated list of up to " + MAX_BATCH_SIZE
+        + " book IDs; books come back in request order and unknown IDs are listed under 'missing'")
+    public Response getBooksByIds(@QueryParam("ids") String ids, @Context Request request) {
+        List<Long> bookIds = new ArrayList<>();
+        if (ids != null) {
+            for (String part : ids.split(",")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                try {
+                    bookIds.add(Long.parseLong(part.trim()));
+                } catch (NumberFormatException e) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("Invalid book ID: " + part.trim())
+                        .build();
+                }
+            }
+        }
+        return batch(bookIds, request);
+    }
+
+    @POST
+    @Path("/batch")
+    @Operation(summary = "Get books by IDs (body)", description = "Same as GET /batch with the IDs sent as a JSON array, for lists too long for a query string")
+    public Response postBooksByIds(List<Long> ids) {
+        if (ids != null && ids.contains(null)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Book IDs must not be null")
+                .build();
+        }
+        return batch(ids == null ? List.of() : ids, null);
+    }
+
     @GET
     @Path("/{id}")
     @Operation(summary = "Get book by ID", description = "Retrieve a specific book by its ID")
-    public Response getBookById(@PathParam("id") Long id) {
+    public Response getBookById(@PathParam("id") Long id, @Context Request request) {
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
         try {
-            Book book = entityManager.find(Book.class, id);
-            if (book == null) {
-                return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Book not found")
-                    .build();
+            CatalogSnapshot snapshot = catalogSnapshotService.current(validators);
+            if (snapshot != null) {
+                BookDTO bookDTO = snapshot.get(id);
+                if (bookDTO == null) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Book not found")
+                        .build();
+                }
+                return validators.apply(Response.ok(inventoryService.withAvailability(bookDTO))).build();
             }
-            
-            String jpql = """
-                SELECT new com.bookstore.dto.BookDTO(
-                    b.id, b.title, b.isbn, 
-                    CONCAT(a.firstName, ' ', a.lastName), 
-                    g.name, p.name, 
-                    b.publicationDate, b.price, b.format, 
-                    b.description, b.coverImageUrl, b.createdAt
-                )
-                FROM Book b
-                LEFT JOIN b.author a
-                LEFT JOIN b.genre g
-                LEFT JOIN b.publisher p
+
+            String jpql = BookQueries.BOOK_DTO_SELECT + """
                 WHERE b.id = :id
                 """;
             
-            BookDTO bookDTO = entityManager.createQuery(jpql, BookDTO.class)
+            List<BookDTO> books = entityManager.createQuery(jpql, BookDTO.class)
                 .setParameter("id", id)
-                .getSingleResult();
+                .getResultList();
+            if (books.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Book not found")
+                    .build();
+            }
             
-            return Response.ok(bookDTO).build();
+            return validators.apply(Response.ok(inventoryService.withAvailability(books.get(0)))).build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error fetching book: " + e.getMessage())
@@ -92,45 +350,201 @@ public class BookResource {
         }
     }
 
+    @GET
+    @Path("/{id}/recommendations")
+    @Operation(summary = "Customers who bought this also bought", description = "Books most often ordered together with this one, "
+        + "from an in-memory co-purchase graph updated with every order")
+    public Response getRecommendations(@PathParam("id") Long id, @QueryParam("limit") Integer limit) {
+        int size = limit == null ? DEFAULT_RECOMMENDATIONS : limit;
+        if (size < 1 || size > recommendationService.topN()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Limit must be between 1 and " + recommendationService.topN())
+                .build();
+        }
+
+        try {
+            List<Neighbour> neighbours = recommendationService.recommendations(id, size);
+            if (neighbours.isEmpty()) {
+                return Response.ok(List.of()).build();
+            }
+            // Details come from the snapshot; without it they are loaded with one IN query
+            CatalogSnapshot snapshot = catalogSnapshotService.latest();
+            Map<Long, BookDTO> found = null;
+            if (snapshot == null) {
+                List<Long> bookIds = new ArrayList<>(neighbours.size());
+                neighbours.forEach(neighbour -> bookIds.add(neighbour.bookId()));
+                found = findByIds(bookIds);
+            }
+
+            List<RecommendationDTO> recommendations = new ArrayList<>(neighbours.size());
+            for (Neighbour neighbour : neighbours) {
+                BookDTO book = snapshot != null ? snapshot.get(neighbour.bookId()) : found.get(neighbour.bookId());
+                // Deleted books stay in the graph until the next rebuild
+                if (book != null) {
+                    recommendations.add(new RecommendationDTO(neighbour.count(), inventoryService.withAvailability(book)));
+                }
+            }
+            return Response.ok(recommendations).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Error fetching recommendations: " + e.getMessage())
+                .build();
+        }
+    }
+
     @GET
     @Path("/search")
-    @Operation(summary = "Search books", description = "Search books by title, author, or genre")
-    public Response searchBooks(@QueryParam("q") String query) {
+    @Operation(summary = "Search books", description = "Search books by title, author, or genre; with fuzzy=true misspelled words also match, ranked after exact matches")
+    public Response searchBooks(@QueryParam("q") String query, @QueryParam("limit") Integer limit,
+                                @QueryParam("fuzzy") @DefaultValue("false") boolean fuzzy,
+                                @Context Request request) {
         if (query == null || query.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity("Search query is required")
                 .build();
         }
-        
+        int maxResults = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (maxResults < 1 || maxResults > MAX_PAGE_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Limit must be between 1 and " + MAX_PAGE_SIZE)
+                .build();
+        }
+
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
         try {
-            String jpql = """
-                SELECT new com.bookstore.dto.BookDTO(
-                    b.id, b.title, b.isbn, 
-                    CONCAT(a.firstName, ' ', a.lastName), 
-                    g.name, p.name, 
-                    b.publicationDate, b.price, b.format, 
-                    b.description, b.coverImageUrl, b.createdAt
-                )
-                FROM Book b
-                LEFT JOIN b.author a
-                LEFT JOIN b.genre g
-                LEFT JOIN b.publisher p
-                WHERE LOWER(b.title) LIKE LOWER(:query) 
-                   OR LOWER(a.firstName) LIKE LOWER(:query) 
-                   OR LOWER(a.lastName) LIKE LOWER(:query)
-                   OR LOWER(g.name) LIKE LOWER(:query)
-                ORDER BY b.title
-                """;
-            
-            List<BookDTO> books = entityManager.createQuery(jpql, BookDTO.class)
-                .setParameter("query", "%" + query + "%")
-                .getResultList();
-            
-            return Response.ok(books).build();
+            // Checked before the search: the index catches up in the background and may lag the version
+            boolean current = bookSearchService.isCurrent(validators.version());
+            List<BookDTO> books = bookSearchService.search(query.trim(), maxResults, fuzzy);
+            Response.ResponseBuilder response = Response.ok(inventoryService.withAvailability(books));
+            return current ? validators.apply(response).build() : response.build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error searching books: " + e.getMessage())
                 .build();
         }
     }
+
+    /**
+     * Keyset pagination over idx_books_title_id: (title, id) > (:title, :id).
+     * The redundant "b.title >= :title" bound lets the planner start the index scan at the cursor.
+     */
+    private BookPageDTO findPage(CatalogFilter filter, BookCursor after, int pageSize) {
+        List<String> conditions = new ArrayList<>();
+        if (after != null) {
+            conditions.add("b.title >= :title AND (b.title > :title OR b.id > :id)");
+        }
+        if (filter.author() != null) {
+            conditions.add("LOWER(CONCAT(a.firstName, ' ', a.lastName)) LIKE :author");
+        }
+        if (filter.genre() != null) {
+            conditions.add("LOWER(g.name) LIKE :genre");
+        }
+        if (filter.publisher() != null) {
+            conditions.add("LOWER(p.name) LIKE :publisher");
+        }
+        if (filter.format() != null) {
+            conditions.add("LOWER(b.format) = :format");
+        }
+        String jpql = BookQueries.BOOK_DTO_SELECT
+            + (conditions.isEmpty() ? "" : "WHERE " + String.join("\n  AND ", conditions) + "\n")
+            + "ORDER BY b.title, b.id";
+
+        TypedQuery<BookDTO> query = entityManager.createQuery(jpql, BookDTO.class)
+            .setMaxResults(pageSize + 1);
+        if (after != null) {
+            query.setParameter("title", after.title)
+                .setParameter("id", after.bookId);
+        }
+        if (filter.author() != null) {
+            query.setParameter("author", containsPattern(filter.author()));
+        }
+        if (filter.genre() != null) {
+            query.setParameter("genre", containsPattern(filter.genre()));
+        }
+        if (filter.publisher() != null) {
+            query.setParameter("publisher", containsPattern(filter.publisher()));
+        }
+        if (filter.format() != null) {
+            query.setParameter("format", filter.format().toLowerCase(Locale.ROOT));
+        }
+        List<BookDTO> books = query.getResultList();
+
+        String next = null;
+        if (books.size() > pageSize) {
+            books = books.subList(0, pageSize);
+            next = BookCursor.after(books.get(pageSize - 1)).encode();
+        }
+        return new BookPageDTO(books, next);
+    }
+
+    /**
+     * Shared by GET and POST /batch; conditional requests are only honoured for GET (request != null).
+     */
+    private Response batch(List<Long> ids, Request request) {
+        // Duplicates are answered once, at their first position
+        List<Long> bookIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (bookIds.isEmpty() || bookIds.size() > MAX_BATCH_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Between 1 and " + MAX_BATCH_SIZE + " book IDs are required")
+                .build();
+        }
+
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = request == null ? null : catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        try {
+            CatalogSnapshot snapshot = catalogSnapshotService.current(validators);
+            Map<Long, BookDTO> found = snapshot == null ? findByIds(bookIds) : null;
+
+            List<BookDTO> items = new ArrayList<>(bookIds.size());
+            List<Long> missing = new ArrayList<>();
+            for (Long bookId : bookIds) {
+                BookDTO book = snapshot != null ? snapshot.get(bookId) : found.get(bookId);
+                if (book == null) {
+                    missing.add(bookId);
+                } else {
+                    items.add(book);
+                }
+            }
+            return validators.apply(Response.ok(new BookBatchDTO(inventoryService.withAvailability(items), missing))).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Error fetching books: " + e.getMessage())
+                .build();
+        }
+    }
+
+    /**
+     * Resolves all IDs with a single IN query; the caller restores request order.
+     */
+    private Map<Long, BookDTO> findByIds(List<Long> bookIds) {
+        String jpql = BookQueries.BOOK_DTO_SELECT + """
+            WHERE b.id IN :ids
+            """;
+        List<BookDTO> books = entityManager.createQuery(jpql, BookDTO.class)
+            .setParameter("ids", bookIds)
+            .getResultList();
+
+        Map<Long, BookDTO> byId = new HashMap<>(books.size() * 2);
+        for (BookDTO book : books) {
+            byId.put(book.bookId, book);
+        }
+        return byId;
+    }
+
+    private static String containsPattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 }
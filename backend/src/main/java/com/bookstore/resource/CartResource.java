@@ -0,0 +1,158 @@
+package com.bookstore.resource;
+
+import com.bookstore.dto.CartDTO;
+import com.bookstore.security.AuthenticatedUser;
+import com.bookstore.security.Secured;
+import com.bookstore.service.CartService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Path("/api/cart")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Cart", description = "Server-side shopping cart of the signed-in customer")
+@Secured
+public class CartResource {
+
+    @Inject
+    CartService cartService;
+
+    @GET
+    @Operation(summary = "Get cart", description = "Returns the cart with current book titles and prices")
+    public Response getCart(@Context SecurityContext securityContext) {
+        return execute(() -> cartService.getCart(customerId(securityContext)));
+    }
+
+    @POST
+    @Path("/items")
+    @Operation(summary = "Add to cart", description = "Adds the quantity to the book's line, creating it if needed")
+    public Response addItem(CartLine line, @Context SecurityContext securityContext) {
+        if (line == null || line.bookId == null || !validQuantity(line.quantity, 1)) {
+            return badRequest("bookId and a quantity between 1 and " + CartService.MAX_QUANTITY + " are required");
+        }
+        return execute(() -> cartService.addItems(customerId(securityContext), Map.of(line.bookId, line.quantity)));
+    }
+
+    @PUT
+    @Path("/items/{bookId}")
+    @Operation(summary = "Update quantity", description = "Sets the quantity of a line; 0 removes it")
+    public Response updateQuantity(@PathParam("bookId") Long bookId, QuantityUpdate update,
+                                   @Context SecurityContext securityContext) {
+        if (update == null || !validQuantity(update.quantity, 0)) {
+            return badRequest("Quantity must be between 0 and " + CartService.MAX_QUANTITY);
+        }
+        return execute(() -> cartService.setQuantity(customerId(securityContext), bookId, update.quantity));
+    }
+
+    @DELETE
+    @Path("/items/{bookId}")
+    @Operation(summary = "Remove from cart", description = "Removes the book's line from the cart")
+    public Response removeItem(@PathParam("bookId") Long bookId, @Context SecurityContext securityContext) {
+        return execute(() -> cartService.removeItem(customerId(securityContext), bookId));
+    }
+
+    @DELETE
+    @Operation(summary = "Clear cart", description = "Removes every line from the cart")
+    public Response clear(@Context SecurityContext securityContext) {
+        try {
+            cartService.clear(customerId(securityContext));
+            return Response.noContent().build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Error clearing cart: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/sync")
+    @Operation(summary = "Merge client cart", description = "Merges a cart kept on the client (e.g. before login) into the server cart in one statement. "
+            + "Books in both keep the larger quantity, so syncing the same cart twice does not double it")
+    public Response sync(CartSync request, @Context SecurityContext securityContext) {
+        List<CartLine> lines = request == null || request.items == null ? List.of() : request.items;
+        if (lines.size() > CartService.MAX_LINES) {
+            return badRequest("At most " + CartService.MAX_LINES + " items can be synced");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CartLine line : lines) {
+            if (line == null || line.bookId == null || !validQuantity(line.quantity, 1)) {
+                return badRequest("Each item needs a bookId and a quantity between 1 and " + CartService.MAX_QUANTITY);
+            }
+            quantities.merge(line.bookId, line.quantity, Math::max);
+        }
+        return execute(() -> cartService.sync(customerId(securityContext), quantities));
+    }
+
+    private Response execute(Supplier<CartDTO> action) {
+        try {
+            return Response.ok(action.get()).build();
+        } catch (Exception e) {
+            if (isConstraintViolation(e)) {
+                // The only constraint an upsert can violate is the book_id foreign key
+                return badRequest("Unknown book");
+            }
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Error updating cart: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean validQuantity(Integer quantity, int min) {
+        return quantity != null && quantity >= min && quantity <= CartService.MAX_QUANTITY;
+    }
+
+    private static Response badRequest(String message) {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponse(message))
+                .build();
+    }
+
+    private static Long customerId(SecurityContext securityContext) {
+        return ((AuthenticatedUser) securityContext.getUserPrincipal()).getId();
+    }
+
+    public static class CartLine {
+        public Long bookId;
+        public Integer quantity;
+    }
+
+    public static class QuantityUpdate {
+        public Integer quantity;
+    }
+
+    public static class CartSync {
+        public List<CartLine> items;
+    }
+
+    public static class ErrorResponse {
+        private String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
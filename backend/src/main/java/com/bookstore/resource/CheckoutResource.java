@@ -0,0 +1,84 @@
+package com.bookstore.resource;
+
+import com.bookstore.security.AuthenticatedUser;
+import com.bookstore.security.Secured;
+import com.bookstore.service.CheckoutService;
+import com.bookstore.service.CheckoutService.Checkout;
+import com.bookstore.service.EmptyCartException;
+import com.bookstore.service.InsufficientStockException;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("/api/checkout")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Checkout", description = "Order placement")
+@Secured
+public class CheckoutResource {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    @Inject
+    CheckoutService checkoutService;
+
+    @POST
+    @Operation(summary = "Place order", description = "Turns the signed-in customer's cart into an order. "
+            + "Send an Idempotency-Key header to make retries safe: a repeated key returns the original order "
+            + "with Idempotent-Replayed: true instead of placing a second one")
+    public Response checkout(CheckoutRequest request,
+                             @HeaderParam("Idempotency-Key") String idempotencyKey,
+                             @Context SecurityContext securityContext) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            return error(Response.Status.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        CheckoutRequest body = request == null ? new CheckoutRequest() : request;
+        Long customerId = ((AuthenticatedUser) securityContext.getUserPrincipal()).getId();
+
+        try {
+            Checkout checkout = checkoutService.checkout(customerId, idempotencyKey,
+                    body.shippingAddress, body.paymentMethod);
+            if (checkout.replayed()) {
+                return Response.ok(checkout.order())
+                        .header("Idempotent-Replayed", "true")
+                        .build();
+            }
+            return Response.status(Response.Status.CREATED)
+                    .entity(checkout.order())
+                    .build();
+        } catch (EmptyCartException e) {
+            return error(Response.Status.BAD_REQUEST, "Cart is empty");
+        } catch (InsufficientStockException e) {
+            return error(Response.Status.CONFLICT, "Insufficient stock for book " + e.getBookId());
+        } catch (Exception e) {
+            return error(Response.Status.INTERNAL_SERVER_ERROR, "Error placing order: " + e.getMessage());
+        }
+    }
+
+    private static Response error(Response.Status status, String message) {
+        return Response.status(status)
+                .entity(new ErrorResponse(message))
+                .build();
+    }
+
+    public static class CheckoutRequest {
+        public String shippingAddress;
+        public String paymentMethod;
+    }
+
+    public static class ErrorResponse {
+        private String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -1,14 +1,19 @@
 package com.bookstore.resource;
 
 import com.bookstore.entity.Genre;
+import com.bookstore.service.CatalogVersion;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 
@@ -22,12 +27,23 @@ public class GenreResource {
     @PersistenceContext
     EntityManager entityManager;
 
+    @Inject
+    CatalogVersion catalogVersion;
+
     @GET
     @Operation(summary = "Get all genres", description = "Retrieve a list of all genres")
-    public Response getAllGenres() {
+    public Response getAllGenres(@Context Request request) {
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
         try {
-            List<Genre> genres = entityManager.createQuery("SELECT g FROM Genre g", Genre.class).getResultList();
-            return Response.ok(genres).build();
+            List<Genre> genres = entityManager.createQuery("SELECT g FROM Genre g", Genre.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList();
+            return validators.apply(Response.ok(genres)).build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error fetching genres: " + e.getMessage())
@@ -38,7 +54,13 @@ public class GenreResource {
     @GET
     @Path("/{id}")
     @Operation(summary = "Get genre by ID", description = "Retrieve a specific genre by ID")
-    public Response getGenreById(@PathParam("id") Long id) {
+    public Response getGenreById(@PathParam("id") Long id, @Context Request request) {
+        CatalogVersion.Validators validators = catalogVersion.current();
+        Response notModified = catalogVersion.notModified(request, validators);
+        if (notModified != null) {
+            return notModified;
+        }
+
         try {
             Genre genre = entityManager.find(Genre.class, id);
             if (genre == null) {
@@ -46,7 +68,7 @@ public class GenreResource {
                     .entity("Genre not found")
                     .build();
             }
-            return Response.ok(genre).build();
+            return validators.apply(Response.ok(genre)).build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error fetching genre: " + e.getMessage())
@@ -0,0 +1,192 @@
+package com.bookstore.resource;
+
+import com.bookstore.inventory.StockLedger.Availability;
+import com.bookstore.inventory.StockLedger.Outcome;
+import com.bookstore.inventory.StockLedger.Reservation;
+import com.bookstore.security.AuthenticatedUser;
+import com.bookstore.security.Secured;
+import com.bookstore.service.InsufficientStockException;
+import com.bookstore.service.InventoryService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Path("/api/inventory")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Inventory", description = "Stock levels and reservations")
+public class InventoryResource {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final int MAX_RESERVATION_LINES = 100;
+
+    @Inject
+    InventoryService inventoryService;
+
+    @GET
+    @Path("/{bookId}")
+    @Operation(summary = "Get stock", description = "Returns the available (unreserved) and on-hand quantity of a book")
+    public Response getStock(@PathParam("bookId") Long bookId) {
+        if (!inventoryService.isTracked(bookId)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse("No stock record for book " + bookId))
+                    .build();
+        }
+        return Response.ok(stock(bookId)).build();
+    }
+
+    @PUT
+    @Path("/{bookId}")
+    @Secured
+    @Operation(summary = "Set stock", description = "Sets the on-hand quantity of a book (admin only); open reservations are kept")
+    public Response setStock(@PathParam("bookId") Long bookId, StockUpdate update, @Context SecurityContext securityContext) {
+        if (!securityContext.isUserInRole(ADMIN_ROLE)) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse("Admin role required"))
+                    .build();
+        }
+        if (update == null || update.quantity == null || update.quantity < 0) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Quantity must be zero or more"))
+                    .build();
+        }
+        if (!inventoryService.setOnHand(bookId, update.quantity)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse("Book not found"))
+                    .build();
+        }
+        return Response.ok(stock(bookId)).build();
+    }
+
+    @POST
+    @Path("/reservations")
+    @Secured
+    @Operation(summary = "Reserve stock", description = "Holds the requested quantities until the reservation is committed, released or expires. "
+            + "Either every line is reserved or none is")
+    public Response reserve(ReservationRequest request, @Context SecurityContext securityContext) {
+        if (request == null || request.items == null || request.items.isEmpty() || request.items.size() > MAX_RESERVATION_LINES) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Between 1 and " + MAX_RESERVATION_LINES + " items are required"))
+                    .build();
+        }
+        Map<Long, Integer> lines = new LinkedHashMap<>();
+        for (ReservationItem item : request.items) {
+            if (item == null || item.bookId == null || item.quantity == null || item.quantity < 1) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponse("Each item needs a bookId and a positive quantity"))
+                        .build();
+            }
+            lines.merge(item.bookId, item.quantity, Integer::sum);
+        }
+
+        try {
+            Reservation reservation = inventoryService.reserve(currentUser(securityContext).getId(), lines);
+            return Response.status(Response.Status.CREATED)
+                    .entity(new ReservationResponse(reservation))
+                    .build();
+        } catch (InsufficientStockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse("Insufficient stock for book " + e.getBookId()))
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/reservations/{id}/commit")
+    @Secured
+    @Operation(summary = "Commit reservation", description = "Turns the reserved quantities into sold stock")
+    public Response commit(@PathParam("id") UUID id, @Context SecurityContext securityContext) {
+        return toResponse(inventoryService.commit(id, currentUser(securityContext).getId()));
+    }
+
+    @DELETE
+    @Path("/reservations/{id}")
+    @Secured
+    @Operation(summary = "Release reservation", description = "Returns the reserved quantities to available stock")
+    public Response release(@PathParam("id") UUID id, @Context SecurityContext securityContext) {
+        return toResponse(inventoryService.release(id, currentUser(securityContext).getId()));
+    }
+
+    private StockResponse stock(Long bookId) {
+        Availability availability = inventoryService.availability(bookId);
+        return new StockResponse(bookId, inventoryService.available(bookId), inventoryService.onHand(bookId),
+                availability == null ? null : availability.name());
+    }
+
+    private static Response toResponse(Outcome outcome) {
+        return switch (outcome) {
+            case DONE -> Response.noContent().build();
+            case NOT_OWNER -> Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse("Reservation belongs to another customer"))
+                    .build();
+            case UNKNOWN -> Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse("Reservation not found or expired"))
+                    .build();
+        };
+    }
+
+    private static AuthenticatedUser currentUser(SecurityContext securityContext) {
+        return (AuthenticatedUser) securityContext.getUserPrincipal();
+    }
+
+    public static class StockUpdate {
+        public Integer quantity;
+    }
+
+    public static class ReservationItem {
+        public Long bookId;
+        public Integer quantity;
+    }
+
+    public static class ReservationRequest {
+        public List<ReservationItem> items;
+    }
+
+    public static class ReservationResponse {
+        public UUID reservationId;
+        public Map<Long, Integer> items;
+        public Instant expiresAt;
+
+        public ReservationResponse(Reservation reservation) {
+            this.reservationId = reservation.id();
+            this.items = reservation.lines();
+            this.expiresAt = Instant.ofEpochMilli(reservation.expiresAtMillis());
+        }
+    }
+
+    public static class StockResponse {
+        public Long bookId;
+        public int available;
+        public int onHand;
+        public String availability;
+
+        public StockResponse(Long bookId, int available, int onHand, String availability) {
+            this.bookId = bookId;
+            this.available = available;
+            this.onHand = onHand;
+            this.availability = availability;
+        }
+    }
+
+    public static class ErrorResponse {
+        private String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -1,12 +1,20 @@
 package com.bookstore.resource;
 
+import com.bookstore.dto.OrderCursor;
 import com.bookstore.entity.Customer;
 import com.bookstore.repository.CustomerRepository;
+import com.bookstore.security.AuthenticatedUser;
+import com.bookstore.security.Secured;
+import com.bookstore.service.HashingUnavailableException;
+import com.bookstore.service.OrderHistoryService;
 import com.bookstore.service.PasswordService;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
@@ -14,6 +22,7 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Profile", description = "Kullanıcı profil işlemleri")
+@Secured
 public class ProfileResource {
 
     @Inject
@@ -22,17 +31,17 @@ public class ProfileResource {
     @Inject
     PasswordService passwordService;
 
+    @Inject
+    OrderHistoryService orderHistoryService;
+
+    private static final int DEFAULT_ORDER_PAGE_SIZE = 20;
+    private static final int MAX_ORDER_PAGE_SIZE = 100;
+
     @GET
     @Operation(summary = "Profil bilgilerini getir", description = "Kullanıcının profil bilgilerini döndürür")
-    public Response getProfile(@QueryParam("username") String username) {
+    public Response getProfile(@Context SecurityContext securityContext) {
         try {
-            if (username == null || username.trim().isEmpty()) {
-                return Response.status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorResponse("Username is required"))
-                        .build();
-            }
-
-            Customer customer = customerRepository.findByUsername(username);
+            Customer customer = customerRepository.findById(currentUser(securityContext).getId());
             if (customer == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(new ErrorResponse("User not found"))
@@ -48,14 +57,11 @@ public class ProfileResource {
     }
 
     @PUT
+    @Transactional
     @Operation(summary = "Profil bilgilerini güncelle", description = "Kullanıcının profil bilgilerini günceller")
-    public Response updateProfile(UpdateProfileRequest request) {
+    public Response updateProfile(UpdateProfileRequest request, @Context SecurityContext securityContext) {
         try {
-            // For now, we'll use a hardcoded username since we don't have authentication setup
-            // In a real application, this would come from the JWT token or session
-            String username = "testuser"; // This should be extracted from the authenticated user
-            
-            Customer customer = customerRepository.findByUsername(username);
+            Customer customer = customerRepository.findById(currentUser(securityContext).getId());
             if (customer == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(new ErrorResponse("User not found"))
@@ -99,13 +105,9 @@ public class ProfileResource {
     @POST
     @Path("/change-password")
     @Operation(summary = "Şifre değiştir", description = "Kullanıcının şifresini değiştirir")
-    public Response changePassword(ChangePasswordRequest request) {
+    public Response changePassword(ChangePasswordRequest request, @Context SecurityContext securityContext) {
         try {
-            // For now, we'll use a hardcoded username since we don't have authentication setup
-            // In a real application, this would come from the JWT token or session
-            String username = "testuser"; // This should be extracted from the authenticated user
-            
-            Customer customer = customerRepository.findByUsername(username);
+            Customer customer = customerRepository.findById(currentUser(securityContext).getId());
             if (customer == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity(new ErrorResponse("User not found"))
@@ -126,11 +128,15 @@ public class ProfileResource {
                         .build();
             }
 
-            // Update password
-            customer.setPasswordHash(passwordService.hashPassword(request.getNewPassword()));
-            customerRepository.persist(customer);
+            // Update password (hashleme transaction dışında yapılır, bağlantı tutulmaz)
+            customerRepository.updatePasswordHash(customer.getId(), passwordService.hashPassword(request.getNewPassword()));
 
             return Response.ok(new SuccessResponse("Password changed successfully", null)).build();
+        } catch (HashingUnavailableException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", e.getRetryAfterSeconds())
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(new ErrorResponse("Error changing password: " + e.getMessage()))
@@ -138,6 +144,41 @@ public class ProfileResource {
         }
     }
 
+    @GET
+    @Path("/orders")
+    @Operation(summary = "Sipariş geçmişi", description = "Siparişleri yeniden eskiye, satırlarıyla birlikte sayfa sayfa döndürür; "
+            + "sonraki sayfa için dönen 'next' imleci gönderilir")
+    public Response getOrders(@QueryParam("cursor") String cursor, @QueryParam("limit") Integer limit,
+                              @Context SecurityContext securityContext) {
+        int pageSize = limit == null ? DEFAULT_ORDER_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_ORDER_PAGE_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Limit must be between 1 and " + MAX_ORDER_PAGE_SIZE))
+                    .build();
+        }
+
+        OrderCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+
+        try {
+            return Response.ok(orderHistoryService.page(currentUser(securityContext).getId(), after, pageSize)).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorResponse("Error retrieving orders: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    private static AuthenticatedUser currentUser(SecurityContext securityContext) {
+        return (AuthenticatedUser) securityContext.getUserPrincipal();
+    }
+
     // Request/Response classes
     public static class ProfileResponse {
         private Long id;
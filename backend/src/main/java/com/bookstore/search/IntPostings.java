@@ -0,0 +1,37 @@
+package com.bookstore.search;
+
+import java.util.Arrays;
+
+/**
+ * Bir terimin geçtiği dokümanlar: artan sıralı doküman numaraları ve
+ * her doküman için terimin geçtiği alanların bit maskesi.
+ */
+final class IntPostings {
+
+    private int[] docs = new int[4];
+    private byte[] fields = new byte[4];
+    private int size;
+
+    /**
+     * Doküman numaraları artan sırada eklenir; aynı doküman tekrar gelirse alan maskesi birleştirilir.
+     */
+    void add(int doc, int fieldMask) {
+        if (size > 0 && docs[size - 1] == doc) {
+            fields[size - 1] |= (byte) fieldMask;
+            return;
+        }
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            fields = Arrays.copyOf(fields, size * 2);
+        }
+        docs[size] = doc;
+        fields[size] = (byte) fieldMask;
+        size++;
+    }
+
+    int size() { return size; }
+
+    int doc(int i) { return docs[i]; }
+
+    int fields(int i) { return fields[i]; }
+}
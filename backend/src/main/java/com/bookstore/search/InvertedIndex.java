@@ -0,0 +1,412 @@
+package com.bookstore.search;
+
+import com.bookstore.dto.BookDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Kitap başlığı, yazar adı ve tür adı üzerinde bellekte tutulan ters indeks.
+ *
+ * Her terim için doküman numaralarından oluşan ilkel int listeleri tutulur. Sorgudaki her kelime
+ * önek olarak eşleşir ve tüm kelimeleri içeren kitaplar alan ağırlıklarına göre sıralanır.
+ * Güncellemede eski doküman ölü olarak işaretlenip yenisi eklenir; ölü doküman sayısı canlılardan
+ * fazla olduğunda indeks kendini yeniden kurar.
+ *
+ * Bulanık aramada terimler sözlük üzerindeki {@link TrigramIndex} ile yazım hatasına toleranslı eşleşir;
+ * bu sonuçlar tam eşleşmelerin arkasına eklenir.
+ */
+public class InvertedIndex {
+
+    static final int TITLE = 1;
+    static final int AUTHOR = 2;
+    static final int GENRE = 4;
+
+    private static final int TITLE_WEIGHT = 10;
+    private static final int AUTHOR_WEIGHT = 6;
+    private static final int GENRE_WEIGHT = 3;
+    private static final int COMPACT_THRESHOLD = 1024;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int LONG_TERM_LENGTH = 8;
+    private static final int MAX_FUZZY_TERMS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, IntPostings> terms = new TreeMap<>();
+    private final TrigramIndex vocabulary = new TrigramIndex();
+    private final Map<Long, Integer> ordinalByBookId = new HashMap<>();
+    private BookDTO[] docs = new BookDTO[1024];
+    private int docCount;
+    private int liveCount;
+
+    public InvertedIndex() {}
+
+    public InvertedIndex(Iterable<BookDTO> books) {
+        for (BookDTO book : books) {
+            addLocked(book);
+        }
+    }
+
+    /**
+     * Kitabı indekse ekler ya da mevcut kaydını değiştirir
+     */
+    public void upsert(BookDTO book) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(book.bookId);
+            addLocked(book);
+            compactIfSparseLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Kitabı indeksten çıkarır
+     */
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+            compactIfSparseLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorgudaki tüm kelimeleri (önek olarak) içeren kitapları ilgiye göre sıralı döndürür
+     */
+    public List<BookDTO> search(String query, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] matches = matchLocked(tokens);
+            return matches.length == 0 ? List.of() : rank(matches, matches.length, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bulanık arama sonucu; {@code comparisons} uzaklık hesaplanan terim sayısı, {@code truncated}
+     * süre ya da terim sınırı yüzünden aramanın erken bittiğini gösterir
+     */
+    public record FuzzyResult(List<BookDTO> books, int comparisons, int vocabularySize, boolean truncated) {}
+
+    /**
+     * Önce {@link #search(String, int)} sonuçlarını, kalan yer için de kelimeleri en fazla bir
+     * (8 harf ve üstü kelimelerde iki) harf farkıyla eşleşen kitapları döndürür. 4 harften kısa
+     * kelimeler bulanık eşleşmez. Sözlük taraması {@code budgetNanos} süresiyle sınırlıdır.
+     */
+    public FuzzyResult searchFuzzy(String query, int limit, long budgetNanos) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new FuzzyResult(List.of(), 0, 0, false);
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+
+        lock.readLock().lock();
+        try {
+            long[] exact = matchLocked(tokens);
+            List<BookDTO> result = new ArrayList<>(exact.length == 0 ? List.of() : rank(exact, exact.length, limit));
+            if (result.size() >= limit) {
+                return new FuzzyResult(result, 0, vocabulary.size(), false);
+            }
+
+            int comparisons = 0;
+            boolean truncated = false;
+            long[] matches = null;
+            int matchCount = 0;
+            for (String token : tokens) {
+                long[] tokenMatches = collect(token);
+                if (token.length() >= MIN_FUZZY_LENGTH) {
+                    int maxDistance = token.length() >= LONG_TERM_LENGTH ? 2 : 1;
+                    TrigramIndex.Result similar = vocabulary.search(token, maxDistance, MAX_FUZZY_TERMS, deadline);
+                    comparisons += similar.comparisons();
+                    truncated |= similar.truncated();
+                    tokenMatches = withSimilarTerms(tokenMatches, similar.matches());
+                }
+                if (matches == null) {
+                    matches = tokenMatches;
+                    matchCount = tokenMatches.length;
+                } else {
+                    matchCount = intersect(matches, matchCount, tokenMatches);
+                }
+                if (matchCount == 0) {
+                    return new FuzzyResult(result, comparisons, vocabulary.size(), truncated);
+                }
+            }
+
+            // Tam eşleşenler zaten listede; yalnızca bulanık eşleşenler puanlarına göre eklenir
+            int fuzzyCount = 0;
+            int e = 0;
+            for (int i = 0; i < matchCount; i++) {
+                long doc = matches[i] >>> 32;
+                while (e < exact.length && (exact[e] >>> 32) < doc) {
+                    e++;
+                }
+                if (e < exact.length && (exact[e] >>> 32) == doc) {
+                    continue;
+                }
+                matches[fuzzyCount++] = matches[i];
+            }
+            if (fuzzyCount > 0) {
+                result.addAll(rank(matches, fuzzyCount, limit - result.size()));
+            }
+            return new FuzzyResult(result, comparisons, vocabulary.size(), truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorgudaki tüm kelimeleri içeren kitapların id'lerini sırasız döndürür
+     */
+    public long[] matchingBookIds(String query) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] matches = matchLocked(tokens);
+            long[] bookIds = new long[matches.length];
+            for (int i = 0; i < matches.length; i++) {
+                bookIds[i] = docs[(int) (matches[i] >>> 32)].bookId;
+            }
+            return bookIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tüm kelimelerin eşleşmelerini kesiştirir; (doküman << 32 | puan) biçiminde döner
+     */
+    private long[] matchLocked(List<String> tokens) {
+        long[] matches = null;
+        int matchCount = 0;
+        for (String token : tokens) {
+            long[] tokenMatches = collect(token);
+            if (matches == null) {
+                matches = tokenMatches;
+                matchCount = tokenMatches.length;
+            } else {
+                matchCount = intersect(matches, matchCount, tokenMatches);
+            }
+            if (matchCount == 0) {
+                return new long[0];
+            }
+        }
+        return matchCount == matches.length ? matches : Arrays.copyOf(matches, matchCount);
+    }
+
+    private void addLocked(BookDTO book) {
+        int ordinal = docCount++;
+        if (ordinal == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        docs[ordinal] = book;
+        liveCount++;
+        ordinalByBookId.put(book.bookId, ordinal);
+
+        index(ordinal, book.title, TITLE);
+        index(ordinal, book.authorName, AUTHOR);
+        index(ordinal, book.genreName, GENRE);
+    }
+
+    private void index(int ordinal, String text, int field) {
+        for (String term : Tokenizer.tokenize(text)) {
+            IntPostings postings = terms.get(term);
+            if (postings == null) {
+                postings = new IntPostings();
+                terms.put(term, postings);
+                vocabulary.add(term);
+            }
+            postings.add(ordinal, field);
+        }
+    }
+
+    private void removeLocked(Long bookId) {
+        Integer ordinal = ordinalByBookId.remove(bookId);
+        if (ordinal != null) {
+            docs[ordinal] = null;
+            liveCount--;
+        }
+    }
+
+    /**
+     * Silinmiş kayıtlar hem eşiği hem de canlı kayıt sayısını aşınca indeksi sıkıştırır
+     */
+    private void compactIfSparseLocked() {
+        if (docCount - liveCount > COMPACT_THRESHOLD && docCount - liveCount > liveCount) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        List<BookDTO> live = new ArrayList<>(liveCount);
+        for (int i = 0; i < docCount; i++) {
+            if (docs[i] != null) {
+                live.add(docs[i]);
+            }
+        }
+        terms.clear();
+        vocabulary.clear();
+        ordinalByBookId.clear();
+        docs = new BookDTO[Math.max(1024, live.size() * 2)];
+        docCount = 0;
+        liveCount = 0;
+        for (BookDTO book : live) {
+            addLocked(book);
+        }
+    }
+
+    /**
+     * Önek eşleşen tüm terimlerin dokümanlarını (doküman << 32 | puan) biçiminde,
+     * doküman numarasına göre sıralı ve tekil olarak döndürür.
+     */
+    private long[] collect(String token) {
+        NavigableMap<String, IntPostings> range = terms.subMap(token, true, token + Character.MAX_VALUE, false);
+        int total = 0;
+        for (IntPostings postings : range.values()) {
+            total += postings.size();
+        }
+
+        long[] packed = new long[total];
+        int n = 0;
+        for (Map.Entry<String, IntPostings> entry : range.entrySet()) {
+            IntPostings postings = entry.getValue();
+            int multiplier = entry.getKey().length() == token.length() ? 2 : 1;
+            for (int i = 0; i < postings.size(); i++) {
+                int doc = postings.doc(i);
+                if (docs[doc] != null) {
+                    packed[n++] = ((long) doc << 32) | (weight(postings.fields(i)) * multiplier);
+                }
+            }
+        }
+        return sortUnique(packed, n);
+    }
+
+    /**
+     * Önek eşleşmelerine, benzer terimlerin (yalnızca tam terim) dokümanlarını ekler.
+     * Bulanık eşleşmeler tam eşleşme çarpanını almaz.
+     */
+    private long[] withSimilarTerms(long[] prefixMatches, List<TrigramIndex.Match> similar) {
+        int total = prefixMatches.length;
+        for (TrigramIndex.Match match : similar) {
+            total += terms.get(match.term()).size();
+        }
+        if (total == prefixMatches.length) {
+            return prefixMatches;
+        }
+
+        long[] packed = Arrays.copyOf(prefixMatches, total);
+        int n = prefixMatches.length;
+        for (TrigramIndex.Match match : similar) {
+            if (match.distance() == 0) {
+                continue;
+            }
+            IntPostings postings = terms.get(match.term());
+            for (int i = 0; i < postings.size(); i++) {
+                int doc = postings.doc(i);
+                if (docs[doc] != null) {
+                    packed[n++] = ((long) doc << 32) | weight(postings.fields(i));
+                }
+            }
+        }
+        return sortUnique(packed, n);
+    }
+
+    /**
+     * Aynı doküman birden fazla kez geçiyorsa en yüksek puan (sıralı grubun son elemanı) kalır
+     */
+    private static long[] sortUnique(long[] packed, int n) {
+        Arrays.sort(packed, 0, n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (i + 1 < n && (packed[i] >>> 32) == (packed[i + 1] >>> 32)) {
+                continue;
+            }
+            packed[unique++] = packed[i];
+        }
+        return Arrays.copyOf(packed, unique);
+    }
+
+    /**
+     * İki sıralı listenin kesişimini puanları toplayarak ilk listenin üzerine yazar
+     */
+    private static int intersect(long[] left, int leftCount, long[] right) {
+        int i = 0, j = 0, n = 0;
+        while (i < leftCount && j < right.length) {
+            long leftDoc = left[i] >>> 32;
+            long rightDoc = right[j] >>> 32;
+            if (leftDoc < rightDoc) {
+                i++;
+            } else if (leftDoc > rightDoc) {
+                j++;
+            } else {
+                left[n++] = (leftDoc << 32) | ((left[i] & 0xFFFFFFFFL) + (right[j] & 0xFFFFFFFFL));
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    private List<BookDTO> rank(long[] matches, int count, int limit) {
+        // Puana göre azalan sıralama: (MAX - puan) << 32 | doküman
+        long[] byScore = new long[count];
+        for (int i = 0; i < count; i++) {
+            long score = matches[i] & 0xFFFFFFFFL;
+            byScore[i] = ((Integer.MAX_VALUE - score) << 32) | (matches[i] >>> 32);
+        }
+        Arrays.sort(byScore);
+
+        int resultSize = Math.min(limit, count);
+        List<ScoredBook> top = new ArrayList<>(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            int score = (int) (Integer.MAX_VALUE - (byScore[i] >>> 32));
+            top.add(new ScoredBook(docs[(int) byScore[i]], score));
+        }
+        top.sort(Comparator.comparingInt((ScoredBook s) -> -s.score)
+                .thenComparing(s -> s.book.title, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<BookDTO> result = new ArrayList<>(resultSize);
+        for (ScoredBook scored : top) {
+            result.add(scored.book);
+        }
+        return result;
+    }
+
+    private static int weight(int fieldMask) {
+        int weight = 0;
+        if ((fieldMask & TITLE) != 0) weight += TITLE_WEIGHT;
+        if ((fieldMask & AUTHOR) != 0) weight += AUTHOR_WEIGHT;
+        if ((fieldMask & GENRE) != 0) weight += GENRE_WEIGHT;
+        return weight;
+    }
+
+    private record ScoredBook(BookDTO book, int score) {}
+}
@@ -0,0 +1,295 @@
+package com.bookstore.search;
+
+import com.bookstore.dto.SuggestionDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Öneri (typeahead) için değişmez önek yapısı.
+ *
+ * Anahtarlar normalize edilmiş metinlerdir ve sıralı bir dizide tutulur; bir önekle başlayan
+ * anahtarlar dizide tek bir aralık oluşturduğu için bu dizi örtük bir trie gibi çalışır ve aralık
+ * iki ikili aramayla bulunur. Aralıktaki en popüler k öneri, ağırlıklar üzerine kurulmuş bir
+ * maksimum segment ağacıyla aralığın tamamı taranmadan çıkarılır.
+ *
+ * Başlık ve yazar adları, kelimenin ortasından yazıldığında da bulunsun diye her kelime
+ * başlangıcından ayrıca anahtarlanır ("gatsby" -> "The Great Gatsby").
+ */
+public final class SuggestIndex {
+
+    public static final String TYPE_TITLE = "title";
+    public static final String TYPE_AUTHOR = "author";
+    public static final String TYPE_GENRE = "genre";
+
+    private final String[] keys;
+    private final int[] entryOfKey;
+    private final SuggestionDTO[] entries;
+    private final long[] weights;
+    // tree[i] alt ağaçtaki en ağır anahtarın indeksi; yapraklar leafOffset'ten başlar
+    private final int[] tree;
+    private final int leafOffset;
+
+    private SuggestIndex(String[] keys, int[] entryOfKey, SuggestionDTO[] entries, long[] weights) {
+        this.keys = keys;
+        this.entryOfKey = entryOfKey;
+        this.entries = entries;
+        this.weights = weights;
+
+        int leaves = 1;
+        while (leaves < Math.max(1, keys.length)) {
+            leaves <<= 1;
+        }
+        this.leafOffset = leaves;
+        this.tree = new int[leaves * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = heavier(tree[node * 2], tree[node * 2 + 1]);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Önekle başlayan en popüler en fazla {@code limit} öneriyi döner. Öneri nesneleri
+     * kurulumda oluşturulur; istek başına yalnızca sonuç listesi ve küçük bir yığın ayrılır.
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = String.join(" ", Tokenizer.tokenize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int from = lowerBound(key);
+        int to = lowerBound(key + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // Aralık yığını: her eleman [başlangıç, bitiş) aralığı ve o aralığın en ağır anahtarı
+        int capacity = 2 * limit + 2;
+        int[] heapFrom = new int[capacity * 2];
+        int[] heapTo = new int[capacity * 2];
+        int[] heapBest = new int[capacity * 2];
+        int heapSize = 0;
+
+        List<SuggestionDTO> result = new ArrayList<>(limit);
+        heapSize = push(heapFrom, heapTo, heapBest, heapSize, from, to, query(from, to));
+        while (heapSize > 0 && result.size() < limit) {
+            int rangeFrom = heapFrom[0];
+            int rangeTo = heapTo[0];
+            int best = heapBest[0];
+            heapSize = pop(heapFrom, heapTo, heapBest, heapSize);
+
+            SuggestionDTO entry = entries[entryOfKey[best]];
+            // Aynı öneri birden fazla kelime anahtarından gelebilir
+            if (!containsSame(result, entry)) {
+                result.add(entry);
+            }
+            if (heapSize + 2 > heapFrom.length) {
+                heapFrom = Arrays.copyOf(heapFrom, heapFrom.length * 2);
+                heapTo = Arrays.copyOf(heapTo, heapTo.length * 2);
+                heapBest = Arrays.copyOf(heapBest, heapBest.length * 2);
+            }
+            if (rangeFrom < best) {
+                heapSize = push(heapFrom, heapTo, heapBest, heapSize, rangeFrom, best, query(rangeFrom, best));
+            }
+            if (best + 1 < rangeTo) {
+                heapSize = push(heapFrom, heapTo, heapBest, heapSize, best + 1, rangeTo, query(best + 1, rangeTo));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * [from, to) aralığındaki en ağır anahtarın indeksi
+     */
+    private int query(int from, int to) {
+        int best = -1;
+        int left = from + leafOffset;
+        int right = to + leafOffset;
+        while (left < right) {
+            if ((left & 1) == 1) {
+                best = heavier(best, tree[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = heavier(best, tree[--right]);
+            }
+            left >>= 1;
+            right >>= 1;
+        }
+        return best;
+    }
+
+    /**
+     * Eşitlikte sözlük sırasında önce gelen anahtar kazanır
+     */
+    private int heavier(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        long weightA = weights[entryOfKey[a]];
+        long weightB = weights[entryOfKey[b]];
+        if (weightA != weightB) {
+            return weightA > weightB ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int push(int[] from, int[] to, int[] best, int size, int rangeFrom, int rangeTo, int rangeBest) {
+        int i = size;
+        from[i] = rangeFrom;
+        to[i] = rangeTo;
+        best[i] = rangeBest;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heavier(best[parent], best[i]) == best[parent]) {
+                break;
+            }
+            swap(from, to, best, i, parent);
+            i = parent;
+        }
+        return size + 1;
+    }
+
+    private int pop(int[] from, int[] to, int[] best, int size) {
+        int last = size - 1;
+        swap(from, to, best, 0, last);
+        int i = 0;
+        while (true) {
+            int left = i * 2 + 1;
+            int right = left + 1;
+            int largest = i;
+            if (left < last && heavier(best[left], best[largest]) == best[left]) {
+                largest = left;
+            }
+            if (right < last && heavier(best[right], best[largest]) == best[right]) {
+                largest = right;
+            }
+            if (largest == i) {
+                break;
+            }
+            swap(from, to, best, i, largest);
+            i = largest;
+        }
+        return last;
+    }
+
+    private static void swap(int[] from, int[] to, int[] best, int i, int j) {
+        int tmp = from[i]; from[i] = from[j]; from[j] = tmp;
+        tmp = to[i]; to[i] = to[j]; to[j] = tmp;
+        tmp = best[i]; best[i] = best[j]; best[j] = tmp;
+    }
+
+    private static boolean containsSame(List<SuggestionDTO> result, SuggestionDTO entry) {
+        for (SuggestionDTO existing : result) {
+            if (existing == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> entryByTypeAndText = new HashMap<>();
+        private final List<SuggestionDTO> entries = new ArrayList<>();
+        private final List<long[]> weights = new ArrayList<>();
+        private final List<Long> bestBookWeight = new ArrayList<>();
+
+        /**
+         * Başlık ekler; aynı başlıklı kitaplar tek öneride birleşir ve en popüler kitabın id'si kalır
+         */
+        public Builder addTitle(String title, Long bookId, long popularity) {
+            int entry = entry(TYPE_TITLE, title, bookId);
+            if (entry >= 0 && popularity > bestBookWeight.get(entry)) {
+                bestBookWeight.set(entry, popularity);
+                entries.get(entry).bookId = bookId;
+            }
+            return add(entry, popularity);
+        }
+
+        public Builder addAuthor(String name, long popularity) {
+            return add(entry(TYPE_AUTHOR, name, null), popularity);
+        }
+
+        public Builder addGenre(String name, long popularity) {
+            return add(entry(TYPE_GENRE, name, null), popularity);
+        }
+
+        public SuggestIndex build() {
+            List<String> keyList = new ArrayList<>();
+            List<Integer> entryList = new ArrayList<>();
+            for (int entry = 0; entry < entries.size(); entry++) {
+                SuggestionDTO suggestion = entries.get(entry);
+                List<String> tokens = Tokenizer.tokenize(suggestion.text);
+                int words = TYPE_GENRE.equals(suggestion.type) ? 1 : tokens.size();
+                for (int start = 0; start < words; start++) {
+                    keyList.add(String.join(" ", tokens.subList(start, tokens.size())));
+                    entryList.add(entry);
+                }
+            }
+
+            Integer[] order = new Integer[keyList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keyList.get(a).compareTo(keyList.get(b)));
+            String[] keys = new String[order.length];
+            int[] entryOfKey = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = keyList.get(order[i]);
+                entryOfKey[i] = entryList.get(order[i]);
+            }
+
+            long[] entryWeights = new long[entries.size()];
+            for (int entry = 0; entry < entryWeights.length; entry++) {
+                entryWeights[entry] = weights.get(entry)[0];
+            }
+            return new SuggestIndex(keys, entryOfKey, entries.toArray(new SuggestionDTO[0]), entryWeights);
+        }
+
+        private int entry(String type, String text, Long bookId) {
+            if (text == null || Tokenizer.tokenize(text).isEmpty()) {
+                return -1;
+            }
+            return entryByTypeAndText.computeIfAbsent(type + '\u0000' + text, k -> {
+                entries.add(new SuggestionDTO(text, type, bookId));
+                weights.add(new long[1]);
+                bestBookWeight.add(-1L);
+                return entries.size() - 1;
+            });
+        }
+
+        private Builder add(int entry, long popularity) {
+            if (entry >= 0) {
+                // Hiç satılmamış öğeler de listelensin diye her öğe en az 1 ağırlık alır
+                weights.get(entry)[0] += popularity + 1;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.bookstore.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * İndeks sözlüğü üzerinde trigram indeksi; yazım hatalı kelimeye yakın terimleri bulur.
+ *
+ * Terimler başına ve sonuna iki dolgu karakteri eklenerek trigramlara bölünür. Her düzenleme en
+ * fazla üç trigramı bozduğu için, uzaklığı k olan iki terim sorgunun farklı trigramlarından en az
+ * (trigram sayısı - 3k) tanesini paylaşır. Adaylar yalnızca sorgunun trigram listeleri sayılarak
+ * bulunur ve Levenshtein uzaklığı yalnızca bu eşiği geçen adaylar için hesaplanır; sözlükteki
+ * her terimle karşılaştırma yapılmaz.
+ *
+ * Thread-safe değildir; {@link InvertedIndex} kilidi altında kullanılır.
+ */
+public class TrigramIndex {
+
+    private static final char PAD = '\u0001';
+
+    /**
+     * Bulunan terim ve sorguya uzaklığı
+     */
+    public record Match(String term, int distance) {}
+
+    /**
+     * Arama sonucu; {@code comparisons} uzaklık hesaplanan aday sayısıdır
+     */
+    public record Result(List<Match> matches, int comparisons, boolean truncated) {}
+
+    private final Map<Long, IntList> grams = new HashMap<>();
+    private String[] terms = new String[1024];
+    private int size;
+
+    /**
+     * Yeni bir terim ekler; terim kimlikleri artarak verildiği için trigram listeleri sıralı kalır
+     */
+    public void add(String term) {
+        if (size == terms.length) {
+            terms = Arrays.copyOf(terms, size * 2);
+        }
+        int id = size++;
+        terms[id] = term;
+        for (long gram : distinctGrams(term)) {
+            grams.computeIfAbsent(gram, g -> new IntList()).add(id);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        grams.clear();
+        terms = new String[1024];
+        size = 0;
+    }
+
+    /**
+     * Sorguya en fazla {@code maxDistance} uzaklıktaki terimleri bulur. Son tarih (System.nanoTime)
+     * geçilirse ya da {@code maxMatches} terim bulunursa o ana kadar bulunanlarla biter.
+     */
+    public Result search(String query, int maxDistance, int maxMatches, long deadlineNanos) {
+        List<Match> matches = new ArrayList<>();
+        long[] queryGrams = distinctGrams(query);
+        int threshold = queryGrams.length - 3 * maxDistance;
+        if (threshold <= 0) {
+            // Filtre bu kadar kısa bir sorguda hiçbir adayı eleyemez
+            return new Result(matches, 0, false);
+        }
+
+        IntList[] lists = new IntList[queryGrams.length];
+        int listCount = 0;
+        for (long gram : queryGrams) {
+            IntList list = grams.get(gram);
+            if (list != null) {
+                lists[listCount++] = list;
+            }
+        }
+        if (listCount < threshold) {
+            return new Result(matches, 0, false);
+        }
+
+        // Sıralı listelerin birleşimi: her adımda en küçük terim kimliği kaç listede geçiyor
+        int[] positions = new int[listCount];
+        int comparisons = 0;
+        int steps = 0;
+        while (true) {
+            if ((++steps & 1023) == 0 && System.nanoTime() - deadlineNanos > 0) {
+                return new Result(matches, comparisons, true);
+            }
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < listCount; i++) {
+                if (positions[i] < lists[i].size) {
+                    min = Math.min(min, lists[i].values[positions[i]]);
+                }
+            }
+            if (min == Integer.MAX_VALUE) {
+                break;
+            }
+            int shared = 0;
+            for (int i = 0; i < listCount; i++) {
+                if (positions[i] < lists[i].size && lists[i].values[positions[i]] == min) {
+                    shared++;
+                    positions[i]++;
+                }
+            }
+            if (shared < threshold) {
+                continue;
+            }
+            String term = terms[min];
+            if (Math.abs(term.length() - query.length()) > maxDistance) {
+                continue;
+            }
+            comparisons++;
+            int distance = distance(query, term, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match(term, distance));
+                if (matches.size() >= maxMatches) {
+                    return new Result(matches, comparisons, true);
+                }
+            }
+        }
+        return new Result(matches, comparisons, false);
+    }
+
+    private static long[] distinctGrams(String term) {
+        int length = term.length() + 4;
+        char[] padded = new char[length];
+        padded[0] = PAD;
+        padded[1] = PAD;
+        term.getChars(0, term.length(), padded, 2);
+        padded[length - 2] = PAD;
+        padded[length - 1] = PAD;
+
+        long[] result = new long[length - 2];
+        for (int i = 0; i + 2 < length; i++) {
+            result[i] = ((long) padded[i] << 32) | ((long) padded[i + 1] << 16) | padded[i + 2];
+        }
+        Arrays.sort(result);
+        int unique = 0;
+        for (int i = 0; i < result.length; i++) {
+            if (i == 0 || result[i] != result[i - 1]) {
+                result[unique++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, unique);
+    }
+
+    /**
+     * Levenshtein uzaklığı; sonuç {@code limit}'i aştığı anda {@code limit + 1} döner
+     */
+    static int distance(String a, String b, int limit) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], limit + 1);
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bookstore.security;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Access token'dan çıkarılan kullanıcı kimliği; veritabanına gitmeden oluşturulur
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final Set<String> roles;
+
+    public AuthenticatedUser(Long id, String username, String email, Set<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.roles = roles;
+    }
+
+    @Override
+    public String getName() { return username; }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public Set<String> getRoles() { return roles; }
+}
@@ -0,0 +1,71 @@
+package com.bookstore.security;
+
+import com.bookstore.service.JwtService;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.ext.Provider;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * {@link Secured} endpoint'lerde Bearer token'ı doğrular ve kullanıcıyı SecurityContext'e koyar.
+ * Kimlik token'dan okunduğu için customers tablosuna gidilmez.
+ */
+@Provider
+@Secured
+@Priority(Priorities.AUTHENTICATION)
+public class JwtAuthenticationFilter implements ContainerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Inject
+    JwtService jwtService;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String authorization = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            abort(requestContext, "Authentication required");
+            return;
+        }
+
+        JwtClaims claims = jwtService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+        if (claims == null || !"access".equals(claims.getType()) || claims.getCustomerId() == null) {
+            abort(requestContext, "Invalid or expired token");
+            return;
+        }
+
+        AuthenticatedUser user = new AuthenticatedUser(
+                claims.getCustomerId(), claims.getSubject(), claims.getEmail(), claims.getRoles());
+        boolean secure = requestContext.getSecurityContext().isSecure();
+        requestContext.setSecurityContext(new SecurityContext() {
+            @Override
+            public Principal getUserPrincipal() { return user; }
+
+            @Override
+            public boolean isUserInRole(String role) { return user.getRoles().contains(role); }
+
+            @Override
+            public boolean isSecure() { return secure; }
+
+            @Override
+            public String getAuthenticationScheme() { return "Bearer"; }
+        });
+    }
+
+    private static void abort(ContainerRequestContext requestContext, String message) {
+        requestContext.abortWith(Response.status(Response.Status.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .type(MediaType.APPLICATION_JSON)
+                .entity(Map.of("error", message))
+                .build());
+    }
+}
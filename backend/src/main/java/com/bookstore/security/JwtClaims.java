@@ -0,0 +1,261 @@
+package com.bookstore.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bu uygulamanın ürettiği düz JWT payload'ını okuyan küçük ayrıştırıcı.
+ *
+ * Genel amaçlı bir JSON kütüphanesi yerine byte dizisi üzerinde tek geçişte çalışır: anahtarlar
+ * String oluşturmadan karşılaştırılır, bilinmeyen alanlar atlanır ve yalnızca ihtiyaç duyulan
+ * değerler için nesne oluşturulur.
+ */
+public final class JwtClaims {
+
+    private static final byte[] ISS = bytes("iss");
+    private static final byte[] SUB = bytes("sub");
+    private static final byte[] UID = bytes("uid");
+    private static final byte[] EMAIL = bytes("email");
+    private static final byte[] ROLES = bytes("roles");
+    private static final byte[] TYP = bytes("typ");
+    private static final byte[] EXP = bytes("exp");
+
+    private String issuer;
+    private String subject;
+    private Long customerId;
+    private String email;
+    private Set<String> roles = Set.of();
+    private String type;
+    private long expiresAt;
+
+    private final byte[] json;
+    private int pos;
+
+    private JwtClaims(byte[] json) {
+        this.json = json;
+    }
+
+    public String getIssuer() { return issuer; }
+    public String getSubject() { return subject; }
+    public Long getCustomerId() { return customerId; }
+    public String getEmail() { return email; }
+    public Set<String> getRoles() { return roles; }
+    public String getType() { return type; }
+    /** Epoch saniyesi */
+    public long getExpiresAt() { return expiresAt; }
+
+    /**
+     * @throws IllegalArgumentException payload geçerli bir JSON nesnesi değilse
+     */
+    public static JwtClaims parse(byte[] json) {
+        JwtClaims claims = new JwtClaims(json);
+        try {
+            claims.parseObject();
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed claims");
+        }
+        return claims;
+    }
+
+    private void parseObject() {
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+        while (true) {
+            skipWhitespace();
+            int keyStart = pos + 1;
+            skipString();
+            int keyEnd = pos - 1;
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+
+            if (keyEquals(keyStart, keyEnd, ISS)) {
+                issuer = readString();
+            } else if (keyEquals(keyStart, keyEnd, SUB)) {
+                subject = readString();
+            } else if (keyEquals(keyStart, keyEnd, UID)) {
+                customerId = readLong();
+            } else if (keyEquals(keyStart, keyEnd, EMAIL)) {
+                email = readString();
+            } else if (keyEquals(keyStart, keyEnd, ROLES)) {
+                roles = readStringArray();
+            } else if (keyEquals(keyStart, keyEnd, TYP)) {
+                type = readString();
+            } else if (keyEquals(keyStart, keyEnd, EXP)) {
+                expiresAt = readLong();
+            } else {
+                skipValue();
+            }
+
+            skipWhitespace();
+            byte next = json[pos++];
+            if (next == '}') {
+                return;
+            }
+            if (next != ',') {
+                throw new IllegalArgumentException("Malformed claims");
+            }
+        }
+    }
+
+    private boolean keyEquals(int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (json[start + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString() {
+        if (peek() == 'n') {
+            skipValue();
+            return null;
+        }
+        int start = pos + 1;
+        boolean escaped = skipString();
+        int end = pos - 1;
+        if (!escaped) {
+            return new String(json, start, end - start, StandardCharsets.UTF_8);
+        }
+        return unescape(start, end);
+    }
+
+    private long readLong() {
+        boolean negative = peek() == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        int start = pos;
+        while (pos < json.length && json[pos] >= '0' && json[pos] <= '9') {
+            value = value * 10 + (json[pos++] - '0');
+        }
+        if (pos == start) {
+            throw new IllegalArgumentException("Malformed claims");
+        }
+        return negative ? -value : value;
+    }
+
+    private Set<String> readStringArray() {
+        expect('[');
+        Set<String> values = new HashSet<>(4);
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return values;
+        }
+        while (true) {
+            skipWhitespace();
+            values.add(readString());
+            skipWhitespace();
+            byte next = json[pos++];
+            if (next == ']') {
+                return values;
+            }
+            if (next != ',') {
+                throw new IllegalArgumentException("Malformed claims");
+            }
+        }
+    }
+
+    /**
+     * İmleci kapanış tırnağının sonrasına taşır; kaçış karakteri görüldüyse true döner
+     */
+    private boolean skipString() {
+        expect('"');
+        boolean escaped = false;
+        while (pos < json.length) {
+            byte b = json[pos++];
+            if (b == '\\') {
+                escaped = true;
+                pos++;
+            } else if (b == '"') {
+                return escaped;
+            }
+        }
+        throw new IllegalArgumentException("Malformed claims");
+    }
+
+    private void skipValue() {
+        byte b = peek();
+        if (b == '"') {
+            skipString();
+        } else if (b == '{' || b == '[') {
+            int depth = 0;
+            do {
+                byte c = peek();
+                if (c == '"') {
+                    skipString();
+                    continue;
+                }
+                if (c == '{' || c == '[') depth++;
+                if (c == '}' || c == ']') depth--;
+                pos++;
+            } while (depth > 0);
+        } else {
+            while (pos < json.length && json[pos] != ',' && json[pos] != '}' && json[pos] != ']') {
+                pos++;
+            }
+        }
+    }
+
+    private String unescape(int start, int end) {
+        String raw = new String(json, start, end - start, StandardCharsets.UTF_8);
+        StringBuilder value = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char ch = raw.charAt(i);
+            if (ch != '\\' || i + 1 >= raw.length()) {
+                value.append(ch);
+                continue;
+            }
+            char escape = raw.charAt(++i);
+            switch (escape) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    value.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> value.append(escape);
+            }
+        }
+        return value.toString();
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length && (json[pos] == ' ' || json[pos] == '\n' || json[pos] == '\r' || json[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    private byte peek() {
+        if (pos >= json.length) {
+            throw new IllegalArgumentException("Malformed claims");
+        }
+        return json[pos];
+    }
+
+    private void expect(char ch) {
+        if (peek() != ch) {
+            throw new IllegalArgumentException("Malformed claims");
+        }
+        pos++;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,193 @@
+package com.bookstore.security;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Refresh token hash'lerini bellekte tutan, kilitleri dilimlere ayrılmış (lock-striped) depo.
+ *
+ * Her dilim kendi kilidi ve HashMap'i ile çalıştığı için farklı token'lar üzerindeki işlemler
+ * birbirini beklemez. Süre dolumu {@link TimingWheel} ile yapılır.
+ */
+public class RefreshTokenStore {
+
+    public enum State { ACTIVE, USED, REVOKED }
+
+    /**
+     * Aynı login'den rotasyonla türeyen token'lar bir aileyi paylaşır; yeniden kullanım
+     * tespit edildiğinde ailenin tamamı iptal edilir.
+     */
+    public static final class Family {
+        private final String id;
+        private volatile boolean revoked;
+
+        public Family(String id) {
+            this.id = id;
+        }
+
+        public String getId() { return id; }
+        public boolean isRevoked() { return revoked; }
+        public void revoke() { revoked = true; }
+    }
+
+    public static final class Entry {
+        private final String tokenHash;
+        private final Family family;
+        private final Long customerId;
+        private final String username;
+        private final String email;
+        private final Set<String> roles;
+        private final long expiresAtMillis;
+        private State state;
+
+        public Entry(String tokenHash, Family family, Long customerId, String username, String email,
+                     Set<String> roles, long expiresAtMillis) {
+            this(tokenHash, family, customerId, username, email, roles, expiresAtMillis, State.ACTIVE);
+        }
+
+        public Entry(String tokenHash, Family family, Long customerId, String username, String email,
+                     Set<String> roles, long expiresAtMillis, State state) {
+            this.tokenHash = tokenHash;
+            this.family = family;
+            this.customerId = customerId;
+            this.username = username;
+            this.email = email;
+            this.roles = roles;
+            this.expiresAtMillis = expiresAtMillis;
+            this.state = state;
+        }
+
+        public String getTokenHash() { return tokenHash; }
+        public Family getFamily() { return family; }
+        public Long getCustomerId() { return customerId; }
+        public String getUsername() { return username; }
+        public String getEmail() { return email; }
+        public Set<String> getRoles() { return roles; }
+        public long getExpiresAtMillis() { return expiresAtMillis; }
+        public State getState() { return family.isRevoked() ? State.REVOKED : state; }
+    }
+
+    /**
+     * {@link #consume(String, long)} sonucu
+     */
+    public enum Outcome { CONSUMED, UNKNOWN, EXPIRED, REUSED }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Entry> entries = new HashMap<>();
+    }
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final TimingWheel<String> expiries;
+
+    public RefreshTokenStore(int stripeCount, TimingWheel<String> expiries) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripeCount must be a power of two");
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = stripeCount - 1;
+        this.expiries = expiries;
+    }
+
+    public void put(Entry entry) {
+        Stripe stripe = stripeFor(entry.tokenHash);
+        stripe.lock.lock();
+        try {
+            stripe.entries.put(entry.tokenHash, entry);
+        } finally {
+            stripe.lock.unlock();
+        }
+        expiries.schedule(entry.tokenHash, entry.expiresAtMillis);
+    }
+
+    /**
+     * Token'ı tek seferlik kullanır. Sonuç CONSUMED ise {@code holder[0]} kullanılan kayıttır;
+     * REUSED ise kayıt zaten kullanılmış ya da ailesi iptal edilmiştir ve holder'da döner.
+     */
+    public Outcome consume(String tokenHash, long nowMillis, Entry[] holder) {
+        Stripe stripe = stripeFor(tokenHash);
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.entries.get(tokenHash);
+            if (entry == null) {
+                return Outcome.UNKNOWN;
+            }
+            holder[0] = entry;
+            if (entry.expiresAtMillis <= nowMillis) {
+                return Outcome.EXPIRED;
+            }
+            if (entry.getState() != State.ACTIVE) {
+                return Outcome.REUSED;
+            }
+            entry.state = State.USED;
+            return Outcome.CONSUMED;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Zamanlayıcı tick'inde süresi dolan kayıtları siler
+     */
+    public void expire(long nowMillis) {
+        expiries.advance(nowMillis, tokenHash -> {
+            Stripe stripe = stripeFor(tokenHash);
+            stripe.lock.lock();
+            try {
+                stripe.entries.remove(tokenHash);
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Müşterinin tüm token'larını siler ve ailelerini iptal eder; silinen kayıt sayısını döner.
+     * Tüm dilimleri taradığı için yalnızca seyrek olaylarda (hesap kapatma) kullanılır.
+     */
+    public int removeCustomer(long customerId) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Entry> iterator = stripe.entries.values().iterator();
+                while (iterator.hasNext()) {
+                    Entry entry = iterator.next();
+                    if (entry.customerId == customerId) {
+                        entry.family.revoke();
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String tokenHash) {
+        int h = tokenHash.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+}
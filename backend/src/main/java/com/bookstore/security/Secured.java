@@ -0,0 +1,18 @@
+package com.bookstore.security;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * İşaretlenen endpoint'ler geçerli bir Bearer access token gerektirir.
+ * Kimlik {@link JwtAuthenticationFilter} tarafından SecurityContext'e yerleştirilir.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Secured {
+}
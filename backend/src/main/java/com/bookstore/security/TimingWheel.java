@@ -0,0 +1,85 @@
+package com.bookstore.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: süre dolumu O(1) zamanlanır ve her tick'te yalnızca tek bir dilim işlenir.
+ *
+ * Tick başına {@link #advance(long, Consumer)} çağrılmalıdır. Tekerleğin bir turundan uzun
+ * süreler için kayıtta kalan tur sayısı tutulur.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Timeout<T>>[] slots;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Öğeyi verilen zamanda süresi dolacak şekilde ekler
+     */
+    public void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        synchronized (this) {
+            long ticks = Math.max(1, deadlineTick - currentTick);
+            long rounds = (ticks - 1) / slots.length;
+            List<Timeout<T>> slot = slots[(int) ((currentTick + ticks) & mask)];
+            slot.add(new Timeout<>(item, rounds));
+        }
+    }
+
+    /**
+     * Tekerleği verilen zamana kadar ilerletir ve süresi dolan öğeleri bildirir
+     */
+    public void advance(long nowMillis, Consumer<T> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            // Uzun bir duraklamadan sonra en fazla bir tam tur işlemek yeterlidir
+            long from = Math.max(currentTick + 1, targetTick - mask);
+            for (long tick = from; tick <= targetTick; tick++) {
+                List<Timeout<T>> slot = slots[(int) (tick & mask)];
+                // Bu dilimin son ilerlemeden beri kaç kez ziyaret edilmiş olması gerektiği
+                long visits = (tick - currentTick - 1) / slots.length + 1;
+                int kept = 0;
+                for (Timeout<T> timeout : slot) {
+                    if (timeout.rounds < visits) {
+                        expired.add(timeout.item);
+                    } else {
+                        timeout.rounds -= visits;
+                        slot.set(kept++, timeout);
+                    }
+                }
+                slot.subList(kept, slot.size()).clear();
+            }
+            currentTick = Math.max(currentTick, targetTick);
+        }
+        expired.forEach(onExpired);
+    }
+
+    private static final class Timeout<T> {
+        final T item;
+        long rounds;
+
+        Timeout(T item, long rounds) {
+            this.item = item;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.bookstore.security;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Anahtar başına kilitsiz token bucket.
+ *
+ * Her kova tek bir {@link AtomicLong} ile tutulur: kovanın yeniden dolacağı an (nanosaniye).
+ * Bir izin almak bu anı bir token süresi kadar ileri iter; kova kapasitesinden fazla ileri
+ * gidecekse istek reddedilir. Böylece güncelleme tek bir CAS ile yapılır.
+ *
+ * Anahtarlar dilimlere (shard) dağıtılır ve dilim başına anahtar sayısı sınırlıdır. Dilim
+ * dolduğunda yalnızca tamamen dolmuş kovalar silinir; bunlar yeni bir kovadan farksız olduğu için
+ * hiçbir anahtarın kalan hakkı sıfırlanmaz. Yer açılamazsa yeni anahtar dilimin ortak taşma
+ * kovasını kullanır, böylece yeni anahtarlarla yapılan bir saldırı yalnızca kendini yavaşlatır.
+ * Dilim taraması en erken dolacak kovanın zamanına kadar (en az {@link #SWEEP_INTERVAL_NANOS})
+ * tekrarlanmaz; yeni anahtar başına tüm dilim taranmaz.
+ */
+public class TokenBucketLimiter {
+
+    public static final String OVERFLOW_KEY = "*overflow*";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Anahtar bazında istatistik
+     */
+    public record KeyStats(String key, long allowed, long rejected) {}
+
+    static final class Bucket {
+        final AtomicLong fullAt;
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        volatile long lastSeen;
+
+        Bucket(long nowNanos) {
+            this.fullAt = new AtomicLong(nowNanos);
+            this.lastSeen = nowNanos;
+        }
+    }
+
+    private static final class Shard {
+        final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        final Bucket overflow;
+        final AtomicBoolean sweeping = new AtomicBoolean();
+        // Bu andan önce hiçbir kova tamamen dolmuş olamaz; tarama boşuna yapılmaz
+        volatile long nextSweepAt;
+
+        Shard(long nowNanos) {
+            this.overflow = new Bucket(nowNanos);
+            this.nextSweepAt = nowNanos;
+        }
+    }
+
+    private final long tokenNanos;
+    private final long burstNanos;
+    private final int maxKeysPerShard;
+    private final Shard[] shards;
+    private final int mask;
+
+    /**
+     * @param capacity        kovanın alabileceği en fazla token (ani yük)
+     * @param tokenNanos      bir token'ın yeniden dolma süresi
+     * @param shardCount      dilim sayısı, ikinin kuvveti
+     * @param maxKeysPerShard dilim başına tutulacak en fazla anahtar
+     */
+    public TokenBucketLimiter(int capacity, long tokenNanos, int shardCount, int maxKeysPerShard, long nowNanos) {
+        if (Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("shardCount must be a power of two");
+        }
+        this.tokenNanos = tokenNanos;
+        this.burstNanos = tokenNanos * capacity;
+        this.maxKeysPerShard = maxKeysPerShard;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(nowNanos);
+        }
+        this.mask = shardCount - 1;
+    }
+
+    /**
+     * Bir token almaya çalışır. İzin verildiyse 0, aksi halde bir sonraki token'a kalan
+     * süreyi (nanosaniye) döner.
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        Bucket bucket = bucketFor(key, nowNanos);
+        bucket.lastSeen = nowNanos;
+        while (true) {
+            long fullAt = bucket.fullAt.get();
+            long next = Math.max(fullAt, nowNanos) + tokenNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                bucket.rejected.increment();
+                return excess;
+            }
+            if (bucket.fullAt.compareAndSet(fullAt, next)) {
+                bucket.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Belirtilen süredir kullanılmayan ve tamamen dolmuş kovaları siler; silinen sayısını döner
+     */
+    public int evictIdle(long nowNanos, long idleNanos) {
+        int evicted = 0;
+        for (Shard shard : shards) {
+            for (Map.Entry<String, Bucket> entry : shard.buckets.entrySet()) {
+                Bucket bucket = entry.getValue();
+                if (nowNanos - bucket.lastSeen > idleNanos && bucket.fullAt.get() - nowNanos <= 0
+                        && shard.buckets.remove(entry.getKey(), bucket)) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.buckets.size();
+        }
+        return size;
+    }
+
+    /**
+     * En çok reddedilen anahtarları döner; taşma kovaları tek satırda toplanır
+     */
+    public List<KeyStats> topRejected(int limit) {
+        List<KeyStats> stats = new ArrayList<>();
+        long overflowAllowed = 0;
+        long overflowRejected = 0;
+        for (Shard shard : shards) {
+            shard.buckets.forEach((key, bucket) -> {
+                long rejected = bucket.rejected.sum();
+                if (rejected > 0) {
+                    stats.add(new KeyStats(key, bucket.allowed.sum(), rejected));
+                }
+            });
+            overflowAllowed += shard.overflow.allowed.sum();
+            overflowRejected += shard.overflow.rejected.sum();
+        }
+        if (overflowAllowed + overflowRejected > 0) {
+            stats.add(new KeyStats(OVERFLOW_KEY, overflowAllowed, overflowRejected));
+        }
+        stats.sort(Comparator.comparingLong(KeyStats::rejected).reversed());
+        return stats.size() > limit ? stats.subList(0, limit) : stats;
+    }
+
+    private Bucket bucketFor(String key, long nowNanos) {
+        int h = key.hashCode();
+        Shard shard = shards[(h ^ (h >>> 16)) & mask];
+        Bucket bucket = shard.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (shard.buckets.size() >= maxKeysPerShard) {
+            sweep(shard, nowNanos);
+            if (shard.buckets.size() >= maxKeysPerShard) {
+                return shard.overflow;
+            }
+        }
+        return shard.buckets.computeIfAbsent(key, k -> new Bucket(nowNanos));
+    }
+
+    /**
+     * Dolu dilimdeki tamamen dolmuş kovaları siler ve bir sonraki taramanın zamanını belirler.
+     * Aynı anda tek thread tarar; diğerleri beklemeden taşma kovasına düşer.
+     */
+    private void sweep(Shard shard, long nowNanos) {
+        if (nowNanos - shard.nextSweepAt < 0 || !shard.sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long earliestRefill = nowNanos + burstNanos;
+            for (Map.Entry<String, Bucket> entry : shard.buckets.entrySet()) {
+                Bucket bucket = entry.getValue();
+                long fullAt = bucket.fullAt.get();
+                if (fullAt - nowNanos <= 0) {
+                    shard.buckets.remove(entry.getKey(), bucket);
+                } else if (fullAt - earliestRefill < 0) {
+                    earliestRefill = fullAt;
+                }
+            }
+            shard.nextSweepAt = Math.max(earliestRefill - nowNanos, SWEEP_INTERVAL_NANOS) + nowNanos;
+        } finally {
+            shard.sweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.bookstore.service;
+
+import com.bookstore.security.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /api/auth istekleri için istemci IP'si ve kullanıcı adı bazında hız sınırı.
+ *
+ * Kontrol, şifre hash'lenmeden ve veritabanına gidilmeden önce yapılır; böylece
+ * kaba kuvvet denemeleri BCrypt havuzunu meşgul edemez.
+ */
+@ApplicationScoped
+public class AuthRateLimiter {
+
+    private static final Logger LOG = Logger.getLogger(AuthRateLimiter.class);
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "bookstore.rate-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "bookstore.rate-limit.ip.capacity", defaultValue = "20")
+    int ipCapacity;
+
+    @ConfigProperty(name = "bookstore.rate-limit.ip.refill-period", defaultValue = "1s")
+    Duration ipRefillPeriod;
+
+    @ConfigProperty(name = "bookstore.rate-limit.username.capacity", defaultValue = "5")
+    int usernameCapacity;
+
+    @ConfigProperty(name = "bookstore.rate-limit.username.refill-period", defaultValue = "12s")
+    Duration usernameRefillPeriod;
+
+    @ConfigProperty(name = "bookstore.rate-limit.shards", defaultValue = "16")
+    int shards;
+
+    @ConfigProperty(name = "bookstore.rate-limit.max-keys-per-shard", defaultValue = "4096")
+    int maxKeysPerShard;
+
+    @ConfigProperty(name = "bookstore.rate-limit.idle-timeout", defaultValue = "10m")
+    Duration idleTimeout;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter usernameLimiter;
+    private Counter ipRejected;
+    private Counter usernameRejected;
+
+    @PostConstruct
+    void init() {
+        long now = System.nanoTime();
+        ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefillPeriod.toNanos(), shards, maxKeysPerShard, now);
+        usernameLimiter = new TokenBucketLimiter(usernameCapacity, usernameRefillPeriod.toNanos(), shards, maxKeysPerShard, now);
+
+        ipRejected = Counter.builder("bookstore.rate-limit.rejected")
+            .description("Auth requests rejected by the rate limiter")
+            .tag("key", "ip")
+            .register(meterRegistry);
+        usernameRejected = Counter.builder("bookstore.rate-limit.rejected")
+            .description("Auth requests rejected by the rate limiter")
+            .tag("key", "username")
+            .register(meterRegistry);
+        Gauge.builder("bookstore.rate-limit.keys", ipLimiter, TokenBucketLimiter::size)
+            .description("Rate limiter keys held in memory")
+            .tag("key", "ip")
+            .register(meterRegistry);
+        Gauge.builder("bookstore.rate-limit.keys", usernameLimiter, TokenBucketLimiter::size)
+            .description("Rate limiter keys held in memory")
+            .tag("key", "username")
+            .register(meterRegistry);
+    }
+
+    /**
+     * İsteğe izin verilirse 0, aksi halde Retry-After için beklenecek saniyeyi döner.
+     * IP sınırı aşıldığında kullanıcı adının kovasına dokunulmaz.
+     */
+    public long check(String clientIp, String username) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long wait = ipLimiter.tryAcquire(clientIp == null ? "unknown" : clientIp, now);
+        if (wait > 0) {
+            ipRejected.increment();
+            return toRetryAfterSeconds(wait);
+        }
+        if (username != null && !username.isBlank()) {
+            wait = usernameLimiter.tryAcquire(username.trim().toLowerCase(Locale.ROOT), now);
+            if (wait > 0) {
+                usernameRejected.increment();
+                return toRetryAfterSeconds(wait);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * En çok reddedilen IP adresleri
+     */
+    public List<TokenBucketLimiter.KeyStats> topRejectedIps(int limit) {
+        return ipLimiter.topRejected(limit);
+    }
+
+    /**
+     * En çok reddedilen kullanıcı adları
+     */
+    public List<TokenBucketLimiter.KeyStats> topRejectedUsernames(int limit) {
+        return usernameLimiter.topRejected(limit);
+    }
+
+    @Scheduled(every = "{bookstore.rate-limit.eviction-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = idleTimeout.toNanos();
+        int evicted = ipLimiter.evictIdle(now, idleNanos) + usernameLimiter.evictIdle(now, idleNanos);
+        if (evicted > 0) {
+            LOG.debugf("Evicted %d idle rate limiter keys", evicted);
+        }
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -1,5 +1,6 @@
 package com.bookstore.service;
 
+import com.bookstore.dto.LoginCredentials;
 import com.bookstore.entity.Customer;
 import com.bookstore.entity.Role;
 import com.bookstore.repository.CustomerRepository;
@@ -10,7 +11,6 @@ import jakarta.transaction.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class AuthenticationService {
@@ -27,38 +27,53 @@ public class AuthenticationService {
     @Inject
     JwtService jwtService;
 
+    @Inject
+    LastLoginRecorder lastLoginRecorder;
+
+    @Inject
+    RefreshTokenService refreshTokenService;
+
     /**
      * Kullanıcı girişi yapar
      */
     public LoginResponse login(String username, String password) {
-        Customer customer = customerRepository.findByUsername(username);
+        LoginCredentials credentials = customerRepository.findLoginCredentials(username);
         
-        if (customer == null || !customer.isActive()) {
+        if (credentials == null || !credentials.active()) {
             throw new RuntimeException("Kullanıcı bulunamadı veya aktif değil");
         }
 
-        if (!passwordService.verifyPassword(password, customer.getPasswordHash())) {
+        if (!passwordService.verifyPassword(password, credentials.passwordHash())) {
             throw new RuntimeException("Geçersiz şifre");
         }
 
-        // Son giriş zamanını güncelle
-        customer.setLastLogin(LocalDateTime.now());
-        customerRepository.persist(customer);
+        // Hash farklı bir maliyetle üretildiyse (eski seed verisi, farklı donanım) yeni maliyetle yeniden hashle
+        if (passwordService.needsRehash(credentials.passwordHash())) {
+            try {
+                customerRepository.updatePasswordHash(credentials.id(), passwordService.hashPassword(password));
+            } catch (HashingUnavailableException e) {
+                // Girişi engellemez, bir sonraki girişte tekrar denenir
+            }
+        }
 
-        // Kullanıcı rollerini al
-        Set<String> roles = customer.getRoles().stream()
-                .map(role -> role.getName())
-                .collect(Collectors.toSet());
+        // Son giriş zamanı toplu olarak daha sonra yazılır
+        lastLoginRecorder.record(credentials.id(), LocalDateTime.now());
 
         // JWT token'ları oluştur
         String accessToken = jwtService.generateAccessToken(
-                customer.getUsername(), 
-                customer.getEmail(), 
-                roles
+                credentials.id(),
+                credentials.username(), 
+                credentials.email(), 
+                credentials.roles()
+        );
+        String refreshToken = refreshTokenService.issue(
+                credentials.id(),
+                credentials.username(),
+                credentials.email(),
+                credentials.roles()
         );
-        String refreshToken = jwtService.generateRefreshToken(customer.getUsername());
 
-        return new LoginResponse(accessToken, refreshToken, customer);
+        return new LoginResponse(accessToken, refreshToken, new CustomerInfo(credentials));
     }
 
     /**
@@ -105,12 +120,34 @@ public class AuthenticationService {
     }
 
     /**
-     * Refresh token ile yeni access token oluşturur
+     * Refresh token'ı döndürür ve yeni bir access token ile birlikte verir; veritabanına gidilmez
      */
-    public String refreshToken(String refreshToken) {
-        // Bu basit implementasyon - gerçek uygulamada refresh token'ı veritabanında saklamalısınız
-        // Şimdilik sadece yeni access token döndürüyoruz
-        return refreshToken; // Gerçek implementasyon gerekli
+    public TokenPair refreshToken(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        String accessToken = jwtService.generateAccessToken(
+                rotation.entry().getCustomerId(),
+                rotation.entry().getUsername(),
+                rotation.entry().getEmail(),
+                rotation.entry().getRoles()
+        );
+        return new TokenPair(accessToken, rotation.refreshToken());
+    }
+
+    /**
+     * Yenileme sonucu dönen token çifti
+     */
+    public static class TokenPair {
+        private String accessToken;
+        private String refreshToken;
+
+        public TokenPair(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        // Getters
+        public String getAccessToken() { return accessToken; }
+        public String getRefreshToken() { return refreshToken; }
     }
 
     /**
@@ -119,9 +156,9 @@ public class AuthenticationService {
     public static class LoginResponse {
         private String accessToken;
         private String refreshToken;
-        private Customer customer;
+        private CustomerInfo customer;
 
-        public LoginResponse(String accessToken, String refreshToken, Customer customer) {
+        public LoginResponse(String accessToken, String refreshToken, CustomerInfo customer) {
             this.accessToken = accessToken;
             this.refreshToken = refreshToken;
             this.customer = customer;
@@ -130,7 +167,36 @@ public class AuthenticationService {
         // Getters
         public String getAccessToken() { return accessToken; }
         public String getRefreshToken() { return refreshToken; }
-        public Customer getCustomer() { return customer; }
+        public CustomerInfo getCustomer() { return customer; }
+    }
+
+    /**
+     * Login yanıtında dönen kullanıcı bilgisi
+     */
+    public static class CustomerInfo {
+        private Long id;
+        private String username;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private Set<String> roles;
+
+        public CustomerInfo(LoginCredentials credentials) {
+            this.id = credentials.id();
+            this.username = credentials.username();
+            this.firstName = credentials.firstName();
+            this.lastName = credentials.lastName();
+            this.email = credentials.email();
+            this.roles = credentials.roles();
+        }
+
+        // Getters
+        public Long getId() { return id; }
+        public String getUsername() { return username; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public String getEmail() { return email; }
+        public Set<String> getRoles() { return roles; }
     }
 
     /**
@@ -0,0 +1,181 @@
+package com.bookstore.service;
+
+import com.bookstore.event.OrderPlacedEvent;
+import com.bookstore.ranking.BestsellerBoard;
+import com.bookstore.ranking.BestsellerBoard.Ranked;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Son pencere (varsayılan 7 gün) içindeki en çok satan kitaplar.
+ *
+ * Sıralama bellekte tutulur ve her commit edilen siparişle güncellenir; okuma veritabanına
+ * gitmez. Kaçırılan ya da iptal edilen siparişler için order_items'tan periyodik olarak
+ * yeniden kurulur (reconciliation).
+ */
+@ApplicationScoped
+public class BestsellerService {
+
+    private static final Logger LOG = Logger.getLogger(BestsellerService.class);
+
+    // Sorgu sırasında commit edilmekte olan siparişler, yeniden kurulumdan sonra olaylardan eklenir
+    private static final Duration RECONCILE_GRACE = Duration.ofMinutes(1);
+
+    private record Sale(long bookId, String title, String genre, int quantity, LocalDateTime orderDate) {}
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "bookstore.bestsellers.window", defaultValue = "7d")
+    Duration window;
+
+    @ConfigProperty(name = "bookstore.bestsellers.top-k", defaultValue = "20")
+    int topK;
+
+    private final ExecutorService reconciler = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bestseller-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reconcilePending = new AtomicBoolean();
+    private final Object lock = new Object();
+    private final List<Sale> recentSales = new ArrayList<>();
+
+    private volatile BestsellerBoard board;
+
+    void onStart(@Observes StartupEvent event) {
+        board = new BestsellerBoard(windowHours(), topK, hourOf(LocalDateTime.now()));
+        Gauge.builder("bookstore.bestsellers.books", this, service -> service.board.trackedBooks())
+            .description("Books with sales inside the bestseller window")
+            .register(meterRegistry);
+        scheduleReconcile();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    /**
+     * En çok satanlar; genre null ise genel sıralama. Sonuç top-k ile sınırlıdır.
+     */
+    public List<Ranked> top(String genre, int limit) {
+        return board.top(genre, Math.min(limit, topK));
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    void onOrderPlaced(@Observes(during = TransactionPhase.AFTER_SUCCESS) OrderPlacedEvent event) {
+        long hour = hourOf(event.getOrderDate());
+        synchronized (lock) {
+            for (OrderPlacedEvent.Item item : event.getItems()) {
+                board.record(item.bookId(), item.title(), item.genreName(), item.quantity(), hour);
+                recentSales.add(new Sale(item.bookId(), item.title(), item.genreName(), item.quantity(),
+                        event.getOrderDate()));
+            }
+        }
+    }
+
+    @Scheduled(every = "1m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void advanceWindow() {
+        BestsellerBoard current = board;
+        if (current != null) {
+            current.advance(hourOf(LocalDateTime.now()));
+        }
+    }
+
+    @Scheduled(every = "{bookstore.bestsellers.reconcile-interval}", delayed = "{bookstore.bestsellers.reconcile-interval}")
+    void periodicReconcile() {
+        scheduleReconcile();
+    }
+
+    private void scheduleReconcile() {
+        if (reconcilePending.compareAndSet(false, true)) {
+            reconciler.execute(() -> {
+                reconcilePending.set(false);
+                try {
+                    reconcile();
+                } catch (RuntimeException e) {
+                    LOG.error("Could not reconcile bestsellers with order_items", e);
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(RECONCILE_GRACE);
+        long currentHour = hourOf(now);
+        LocalDateTime from = now.truncatedTo(ChronoUnit.HOURS).minusHours(windowHours() - 1);
+
+        List<Object[]> rows = QuarkusTransaction.requiringNew().call(() -> entityManager.createNativeQuery("""
+                SELECT oi.book_id, b.title, g.name, date_trunc('hour', o.order_date), SUM(oi.quantity)
+                FROM order_items oi
+                JOIN orders o ON o.order_id = oi.order_id
+                JOIN books b ON b.book_id = oi.book_id
+                LEFT JOIN genres g ON g.genre_id = b.genre_id
+                WHERE o.order_date >= :from AND o.order_date < :cutoff AND o.status <> 'cancelled'
+                GROUP BY oi.book_id, b.title, g.name, date_trunc('hour', o.order_date)
+                """)
+                .setParameter("from", from)
+                .setParameter("cutoff", cutoff)
+                .getResultList());
+
+        BestsellerBoard rebuilt = new BestsellerBoard(windowHours(), topK, currentHour);
+        for (Object[] row : rows) {
+            rebuilt.record(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                    ((Number) row[4]).intValue(), hourOf(toLocalDateTime(row[3])));
+        }
+
+        synchronized (lock) {
+            // Sorgunun görmediği satışlar (cutoff sonrası) olaylardan tekrar eklenir
+            recentSales.removeIf(sale -> sale.orderDate().isBefore(cutoff));
+            for (Sale sale : recentSales) {
+                rebuilt.record(sale.bookId(), sale.title(), sale.genre(), sale.quantity(), hourOf(sale.orderDate()));
+            }
+            board = rebuilt;
+        }
+        LOG.debugf("Bestsellers reconciled from %d order_items groups", rows.size());
+    }
+
+    private int windowHours() {
+        return (int) Math.max(1, window.toHours());
+    }
+
+    private static long hourOf(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.atZone(ZoneId.systemDefault()).toEpochSecond(), 3600);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
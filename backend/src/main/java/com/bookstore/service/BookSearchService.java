@@ -0,0 +1,341 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.event.CatalogChangedEvent;
+import com.bookstore.repository.BookQueries;
+import com.bookstore.search.InvertedIndex;
+import com.bookstore.search.Tokenizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@ApplicationScoped
+public class BookSearchService {
+
+    private static final Logger LOG = Logger.getLogger(BookSearchService.class);
+
+    public static final String ENGINE_LIKE = "like";
+    public static final String ENGINE_INDEX = "index";
+    public static final String ENGINE_FULLTEXT = "fulltext";
+
+    private static final String LIKE_WHERE = """
+        WHERE LOWER(b.title) LIKE LOWER(:query)
+           OR LOWER(a.firstName) LIKE LOWER(:query)
+           OR LOWER(a.lastName) LIKE LOWER(:query)
+           OR LOWER(g.name) LIKE LOWER(:query)
+        """;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    CatalogVersion catalogVersion;
+
+    @ConfigProperty(name = "bookstore.search.engine", defaultValue = ENGINE_INDEX)
+    String engine;
+
+    @ConfigProperty(name = "bookstore.search.fuzzy.budget", defaultValue = "20ms")
+    Duration fuzzyBudget;
+
+    private DistributionSummary fuzzyComparisons;
+    private Counter fuzzyTruncated;
+
+    // İndeks güncellemeleri tek bir thread üzerinde sırayla uygulanır
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile InvertedIndex index;
+    // İlk kurulum başarısız olduysa indeks hiç gelmeyecek; aramalar LIKE sorgularıyla sürer
+    private volatile boolean indexUnavailable;
+    // Kuyrukta bekleyen ya da uygulanmakta olan indeks güncellemeleri
+    private final AtomicInteger queuedUpdates = new AtomicInteger();
+    // İndeksin tüm değişikliklerini içerdiği en yeni katalog sürümü; -1 bilinmiyor demektir
+    private volatile long indexedVersion = -1;
+    // Bir güncelleme uygulanamadıysa indeks eksiktir; yalnızca başarılı bir yeniden kurulum düzeltir
+    private volatile boolean indexStale;
+
+    @PostConstruct
+    void init() {
+        fuzzyComparisons = DistributionSummary.builder("bookstore.search.fuzzy.comparisons")
+            .description("Trigram candidates verified by edit distance per fuzzy search")
+            .register(meterRegistry);
+        fuzzyTruncated = Counter.builder("bookstore.search.fuzzy.truncated")
+            .description("Fuzzy searches cut short by the latency budget or the term limit")
+            .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (ENGINE_INDEX.equals(engine)) {
+            enqueue(this::rebuild);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    /**
+     * Kitapları arar. İndeks motoru seçiliyse ve indeks hazırsa veritabanına gidilmez.
+     */
+    public List<BookDTO> search(String query, int limit) {
+        InvertedIndex current = index;
+        if (current != null && ENGINE_INDEX.equals(engine)) {
+            return current.search(query, limit);
+        }
+        if (ENGINE_FULLTEXT.equals(engine)) {
+            return searchFullText(query, limit);
+        }
+        return searchLike(query, limit);
+    }
+
+    /**
+     * Yazım hatalarına toleranslı arama: tam eşleşmeler önce, bulanık eşleşmeler sonra gelir.
+     * Yalnızca indeks motorunda desteklenir; diğer motorlarda normal aramaya döner.
+     */
+    public List<BookDTO> search(String query, int limit, boolean fuzzy) {
+        InvertedIndex current = index;
+        if (!fuzzy || current == null || !ENGINE_INDEX.equals(engine)) {
+            return search(query, limit);
+        }
+        InvertedIndex.FuzzyResult result = current.searchFuzzy(query, limit, fuzzyBudget.toNanos());
+        fuzzyComparisons.record(result.comparisons());
+        if (result.truncated()) {
+            fuzzyTruncated.increment();
+        }
+        return result.books();
+    }
+
+    /**
+     * Aramaya uyan tüm kitapların id'lerini sırasız döner. İndeks motorunda indeks henüz
+     * kuruluyorsa null döner; diğer motorlarda id'ler seçili motorun sorgusuyla okunur.
+     */
+    public long[] matchingBookIds(String query) {
+        InvertedIndex current = index;
+        if (current != null && ENGINE_INDEX.equals(engine)) {
+            return current.matchingBookIds(query);
+        }
+        if (ENGINE_INDEX.equals(engine) && !indexUnavailable) {
+            return null;
+        }
+        List<? extends Number> ids = ENGINE_FULLTEXT.equals(engine) ? matchingIdsFullText(query) : matchingIdsLike(query);
+        return ids.stream().mapToLong(Number::longValue).toArray();
+    }
+
+    /**
+     * Arama sonuçlarının en az verilen katalog sürümü kadar güncel olup olmadığı; yanıt bu
+     * sürümün ETag'i ile etiketlenmeden önce, aramadan önce sorulur. Veritabanı sorguları her
+     * zaman günceldir; indeks ise arka planda güncellendiği için o sürüme kadarki tüm
+     * değişiklikler uygulanmış olmalıdır.
+     */
+    public boolean isCurrent(long version) {
+        return !ENGINE_INDEX.equals(engine) || index == null || indexedVersion >= version;
+    }
+
+    /**
+     * Commit edilen katalog değişikliklerini indekse yansıtır. CatalogVersion'ın sürümü
+     * artırmasından önce çalışır; böylece bir sürümü okuyan güncelleme, o sürüme kadarki tüm
+     * değişikliklerin kuyruğa alınmış olduğunu bilir.
+     */
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) @Priority(Interceptor.Priority.PLATFORM_BEFORE)
+                          CatalogChangedEvent event) {
+        if (ENGINE_INDEX.equals(engine)) {
+            enqueue(() -> apply(event));
+        }
+    }
+
+    /**
+     * Güncellemeyi indeksleyici thread'ine verir. Sürüm güncellemeden önce okunur; kuyruk
+     * boşaldığında indeks bu sürüme kadarki tüm değişiklikleri içerir.
+     */
+    private void enqueue(BooleanSupplier update) {
+        queuedUpdates.incrementAndGet();
+        indexer.execute(() -> {
+            long version = catalogVersion.current().version();
+            boolean applied = false;
+            try {
+                applied = update.getAsBoolean();
+            } finally {
+                if (!applied) {
+                    indexStale = true;
+                }
+                if (queuedUpdates.decrementAndGet() == 0) {
+                    indexedVersion = indexStale ? -1 : version;
+                }
+            }
+        });
+    }
+
+    private List<BookDTO> searchLike(String query, int limit) {
+        String jpql = BookQueries.BOOK_DTO_SELECT + LIKE_WHERE + "ORDER BY b.title";
+
+        return entityManager.createQuery(jpql, BookDTO.class)
+            .setParameter("query", "%" + query + "%")
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    private List<Long> matchingIdsLike(String query) {
+        String jpql = """
+            SELECT b.id
+            FROM Book b
+            LEFT JOIN b.author a
+            LEFT JOIN b.genre g
+            """ + LIKE_WHERE;
+
+        return entityManager.createQuery(jpql, Long.class)
+            .setParameter("query", "%" + query + "%")
+            .getResultList();
+    }
+
+    /**
+     * books.search_vector üzerinde GIN indeksini kullanır; her kelime önek olarak eşleşir
+     * ve sonuçlar ts_rank'e göre sıralanır.
+     */
+    @SuppressWarnings("unchecked")
+    private List<BookDTO> searchFullText(String query, int limit) {
+        String tsQuery = toTsQuery(query);
+        if (tsQuery == null) {
+            return List.of();
+        }
+
+        String sql = BookQueries.BOOK_ROW_SELECT + """
+            CROSS JOIN to_tsquery('english_unaccent', :query) q
+            WHERE b.search_vector @@ q
+            ORDER BY ts_rank(b.search_vector, q) DESC, b.title
+            LIMIT :limit
+            """;
+
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+            .setParameter("query", tsQuery)
+            .setParameter("limit", limit)
+            .getResultList();
+        return rows.stream().map(BookQueries::toBookDTO).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Number> matchingIdsFullText(String query) {
+        String tsQuery = toTsQuery(query);
+        if (tsQuery == null) {
+            return List.of();
+        }
+        return entityManager.createNativeQuery("""
+                SELECT b.book_id FROM books b
+                WHERE b.search_vector @@ to_tsquery('english_unaccent', :query)
+                """)
+            .setParameter("query", tsQuery)
+            .getResultList();
+    }
+
+    /**
+     * Her kelimeyi önek olarak eşleyen to_tsquery ifadesi; kelime yoksa null
+     */
+    private static String toTsQuery(String query) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        // Tokenizer yalnızca harf ve rakam bıraktığı için to_tsquery sözdizimi güvenlidir
+        return tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & "));
+    }
+
+    private boolean rebuild() {
+        try {
+            long start = System.nanoTime();
+            index = QuarkusTransaction.requiringNew().call(() -> {
+                try (Stream<BookDTO> books = entityManager
+                        .createQuery(BookQueries.BOOK_DTO_SELECT + "ORDER BY b.title, b.id", BookDTO.class)
+                        .getResultStream()) {
+                    return new InvertedIndex(books::iterator);
+                }
+            });
+            LOG.infof("Search index built with %d books in %d ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+            indexStale = false;
+            return true;
+        } catch (RuntimeException e) {
+            indexUnavailable = index == null;
+            LOG.error("Search index could not be built, falling back to LIKE queries", e);
+            return false;
+        }
+    }
+
+    /**
+     * Değişikliği indekse uygular; uygulanamazsa indeksi yeniden kurar. İndeks eksik kaldıysa false.
+     */
+    private boolean apply(CatalogChangedEvent event) {
+        InvertedIndex current = index;
+        if (current == null) {
+            return true;
+        }
+        try {
+            switch (event.getEntityType()) {
+                case BOOK -> {
+                    if (event.getChangeType() == CatalogChangedEvent.ChangeType.DELETED) {
+                        current.remove(event.getId());
+                    } else {
+                        reindex("b.id", event.getId(), current);
+                    }
+                }
+                case AUTHOR, GENRE, PUBLISHER -> {
+                    // Silmeler veritabanında cascade ile kitapları da siler; entity olayı gelmediği için yeniden kurulur
+                    if (event.getChangeType() == CatalogChangedEvent.ChangeType.DELETED) {
+                        return rebuild();
+                    } else if (event.getChangeType() == CatalogChangedEvent.ChangeType.UPDATED) {
+                        String column = switch (event.getEntityType()) {
+                            case AUTHOR -> "a.id";
+                            case GENRE -> "g.id";
+                            default -> "p.id";
+                        };
+                        reindex(column, event.getId(), current);
+                    }
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Search index update failed for %s %d, rebuilding", event.getEntityType(), event.getId());
+            return rebuild();
+        }
+    }
+
+    private void reindex(String column, Long id, InvertedIndex current) {
+        List<BookDTO> books = QuarkusTransaction.requiringNew().call(() -> entityManager
+            .createQuery(BookQueries.BOOK_DTO_SELECT + "WHERE " + column + " = :id", BookDTO.class)
+            .setParameter("id", id)
+            .getResultList());
+        if (books.isEmpty() && "b.id".equals(column)) {
+            current.remove(id);
+        }
+        for (BookDTO book : books) {
+            current.upsert(book);
+        }
+    }
+}
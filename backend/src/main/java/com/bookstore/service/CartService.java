@@ -0,0 +1,116 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.CartDTO;
+import com.bookstore.dto.CartItemDTO;
+import com.bookstore.event.CatalogChangedEvent;
+import com.bookstore.repository.CartRepository;
+import com.bookstore.repository.CartRepository.Merge;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CacheResult;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sunucu tarafı alışveriş sepeti (shopping_cart).
+ *
+ * Okunan sepetler müşteri başına önbelleğe alınır; sepet sayfasının tekrar tekrar
+ * çizilmesi veritabanına gitmez. Her değişiklik commit edildikten sonra o müşterinin
+ * kaydı, kitap bilgisi değiştiğinde ise tüm kayıtlar silinir.
+ */
+@ApplicationScoped
+public class CartService {
+
+    public static final String CACHE_NAME = "cart";
+    public static final int MAX_LINES = 100;
+    public static final int MAX_QUANTITY = 99;
+
+    @Inject
+    CartRepository cartRepository;
+
+    @Inject
+    @CacheName(CACHE_NAME)
+    Cache cache;
+
+    @CacheResult(cacheName = CACHE_NAME)
+    public CartDTO getCart(Long customerId) {
+        List<CartItemDTO> items = QuarkusTransaction.requiringNew()
+                .call(() -> cartRepository.findItems(customerId));
+        int itemCount = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItemDTO item : items) {
+            itemCount += item.quantity;
+            total = total.add(item.price.multiply(BigDecimal.valueOf(item.quantity)));
+        }
+        return new CartDTO(List.copyOf(items), itemCount, total);
+    }
+
+    /**
+     * Verilen adetleri mevcut adetlere ekler
+     */
+    public CartDTO addItems(Long customerId, Map<Long, Integer> quantities) {
+        return upsert(customerId, quantities, Merge.ADD);
+    }
+
+    /**
+     * Adedi verilen değere ayarlar; sıfır satırı siler
+     */
+    public CartDTO setQuantity(Long customerId, Long bookId, int quantity) {
+        if (quantity == 0) {
+            return removeItem(customerId, bookId);
+        }
+        return upsert(customerId, Map.of(bookId, quantity), Merge.REPLACE);
+    }
+
+    /**
+     * İstemcideki sepeti sunucudakiyle birleştirir; iki tarafta da olan kitapta büyük adet kalır
+     */
+    public CartDTO sync(Long customerId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return getCart(customerId);
+        }
+        return upsert(customerId, quantities, Merge.GREATEST);
+    }
+
+    public CartDTO removeItem(Long customerId, Long bookId) {
+        QuarkusTransaction.requiringNew().run(() -> cartRepository.removeItem(customerId, bookId));
+        return invalidateAndGet(customerId);
+    }
+
+    public void clear(Long customerId) {
+        QuarkusTransaction.requiringNew().run(() -> cartRepository.clear(customerId));
+        cache.invalidate(customerId).await().indefinitely();
+    }
+
+    /**
+     * Sepet başka bir transaction içinde değiştirildiğinde (ör. sipariş) commit sonrası çağrılır
+     */
+    public void invalidate(Long customerId) {
+        cache.invalidate(customerId).await().indefinitely();
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        // Önbellekteki sepetler kitap başlığı, fiyatı, yazarı ve türünü içerir
+        if (event.getEntityType() != CatalogChangedEvent.EntityType.PUBLISHER) {
+            cache.invalidateAll().await().indefinitely();
+        }
+    }
+
+    private CartDTO upsert(Long customerId, Map<Long, Integer> quantities, Merge merge) {
+        QuarkusTransaction.requiringNew()
+                .run(() -> cartRepository.upsert(customerId, quantities, merge, MAX_QUANTITY));
+        return invalidateAndGet(customerId);
+    }
+
+    private CartDTO invalidateAndGet(Long customerId) {
+        cache.invalidate(customerId).await().indefinitely();
+        return getCart(customerId);
+    }
+}
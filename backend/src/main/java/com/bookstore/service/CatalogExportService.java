@@ -0,0 +1,144 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.repository.BookQueries;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kataloğu belleğe almadan dışa aktarır. Satırlar ileri yönlü bir JDBC cursor'ından
+ * sabit fetch size ile okunur ve okundukça yanıta yazılır.
+ */
+@ApplicationScoped
+public class CatalogExportService {
+
+    private static final String CSV_HEADER = "bookId,title,isbn,authorName,genreName,publisherName,"
+        + "publicationDate,price,format,description,coverImageUrl,createdAt";
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "bookstore.export.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    @ConfigProperty(name = "bookstore.export.timeout", defaultValue = "600")
+    int timeoutSeconds;
+
+    /**
+     * Her satırda bir BookDTO olan newline-delimited JSON akışı
+     */
+    public StreamingOutput ndjson() {
+        return output -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(generator)) {
+                scroll(book -> writer.write(book), generator::flush);
+            }
+            generator.flush();
+            output.write('\n');
+            output.flush();
+        };
+    }
+
+    /**
+     * Başlık satırı olan RFC 4180 CSV akışı
+     */
+    public StreamingOutput csv() {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            scroll(book -> writeCsvRow(writer, book), writer::flush);
+            writer.flush();
+        };
+    }
+
+    private void scroll(RowWriter rowWriter, Flusher flusher) {
+        // PostgreSQL JDBC sürücüsü fetch size'ı yalnızca autocommit kapalıyken uygular
+        QuarkusTransaction.requiringNew().timeout(timeoutSeconds).run(() -> {
+            Session session = entityManager.unwrap(Session.class);
+            try (ScrollableResults<BookDTO> rows = session
+                    .createQuery(BookQueries.BOOK_DTO_SELECT + "ORDER BY b.id", BookDTO.class)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                long count = 0;
+                while (rows.next()) {
+                    rowWriter.write(rows.get());
+                    count++;
+                    // İlk satır hemen gönderilir, sonrasında her fetch boyutunda bir
+                    if (count == 1 || count % fetchSize == 0) {
+                        flusher.flush();
+                        session.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void writeCsvRow(Writer writer, BookDTO book) throws IOException {
+        writer.write(String.valueOf(book.bookId));
+        writeCsvField(writer, book.title);
+        writeCsvField(writer, book.isbn);
+        writeCsvField(writer, book.authorName);
+        writeCsvField(writer, book.genreName);
+        writeCsvField(writer, book.publisherName);
+        writeCsvField(writer, book.publicationDate == null ? null : book.publicationDate.toString());
+        writeCsvField(writer, book.price == null ? null : book.price.toPlainString());
+        writeCsvField(writer, book.format);
+        writeCsvField(writer, book.description);
+        writeCsvField(writer, book.coverImageUrl);
+        writeCsvField(writer, book.createdAt == null ? null : book.createdAt.toString());
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (quote) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(BookDTO book) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Flusher {
+        void flush() throws IOException;
+    }
+}
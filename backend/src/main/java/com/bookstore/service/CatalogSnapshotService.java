@@ -0,0 +1,130 @@
+package com.bookstore.service;
+
+import com.bookstore.catalog.CatalogSnapshot;
+import com.bookstore.dto.BookDTO;
+import com.bookstore.event.CatalogChangedEvent;
+import com.bookstore.repository.BookQueries;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Katalog görüntüsünü ({@link CatalogSnapshot}) açılışta ve her commit edilen katalog
+ * değişikliğinden sonra yeniden kurar. Üst üste gelen değişiklikler tek kuruluma birleştirilir.
+ */
+@ApplicationScoped
+public class CatalogSnapshotService {
+
+    private static final Logger LOG = Logger.getLogger(CatalogSnapshotService.class);
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    CatalogVersion catalogVersion;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "bookstore.catalog.snapshot.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile CatalogSnapshot snapshot;
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled) {
+            Gauge.builder("bookstore.catalog.snapshot.books", this, service -> {
+                    CatalogSnapshot current = service.snapshot;
+                    return current == null ? 0 : current.size();
+                })
+                .description("Books in the in-memory catalog snapshot")
+                .register(meterRegistry);
+            scheduleRebuild();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Verilen katalog sürümüyle kurulmuş görüntüyü döner; görüntü yoksa ya da eskiyse null.
+     * Yanıtın ETag'i ile içeriği böylece her zaman aynı sürüme ait olur.
+     */
+    public CatalogSnapshot current(CatalogVersion.Validators validators) {
+        CatalogSnapshot current = snapshot;
+        return current != null && current.version() == validators.version() ? current : null;
+    }
+
+    /**
+     * Sürümüne bakmadan en son kurulan görüntüyü döner; henüz kurulmadıysa null
+     */
+    public CatalogSnapshot latest() {
+        return snapshot;
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        if (enabled) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        try {
+            long version;
+            CatalogSnapshot built;
+            // Sürüm okunduktan sonra değiştiyse görüntü o değişikliği içeriyor olsa da yeniden kurulur
+            do {
+                version = catalogVersion.current().version();
+                long start = System.nanoTime();
+                final long buildVersion = version;
+                built = QuarkusTransaction.requiringNew().call(() -> {
+                    CatalogSnapshot.Builder snapshotBuilder = CatalogSnapshot.builder(buildVersion);
+                    try (Stream<BookDTO> books = entityManager
+                            .createQuery(BookQueries.BOOK_DTO_SELECT + "ORDER BY b.title, b.id", BookDTO.class)
+                            .getResultStream()) {
+                        books.forEach(snapshotBuilder::add);
+                    }
+                    return snapshotBuilder.build();
+                });
+                snapshot = built;
+                LOG.debugf("Catalog snapshot v%d built with %d books in %d ms",
+                        version, built.size(), (System.nanoTime() - start) / 1_000_000);
+            } while (version != catalogVersion.current().version());
+        } catch (RuntimeException e) {
+            LOG.error("Catalog snapshot could not be built, catalog reads fall back to the database", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bookstore.service;
+
+import com.bookstore.event.CatalogChangedEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Katalog sürüm sayacı. Her commit edilen katalog değişikliğinde artar ve katalog
+ * yanıtlarının ETag değerini üretir; böylece değişmemiş içerik için veritabanına gitmeden
+ * 304 döndürülebilir.
+ *
+ * Last-Modified gönderilmez: saniye çözünürlüğündedir ve aynı saniyedeki ikinci bir
+ * değişiklik (örneğin satış sırasında stok durumu) If-Modified-Since ile hatalı 304 verirdi.
+ *
+ * Yanıtlardaki stok durumu (IN_STOCK / LOW_STOCK / OUT_OF_STOCK) değiştiğinde yalnızca ETag
+ * yenilenir; {@link Validators#version()} katalog içeriğinin sürümü olarak kalır.
+ */
+@ApplicationScoped
+public class CatalogVersion {
+
+    // Yeniden başlatmadan sonra eski ETag'lerin eşleşmemesi için sürüme başlangıç zamanı eklenir
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicReference<Validators> current = new AtomicReference<>(
+        new Validators(0, 0, new EntityTag(epoch + "-0-0")));
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        current.updateAndGet(previous -> validators(previous.version + 1, previous.stockVersion));
+    }
+
+    /**
+     * Bir kitabın stok durumu değiştiğinde çağrılır
+     */
+    public void availabilityChanged() {
+        current.updateAndGet(previous -> validators(previous.version, previous.stockVersion + 1));
+    }
+
+    /**
+     * Sorgudan önce okunmalıdır: aradaki bir değişiklik yanıtı yalnızca daha eski bir ETag ile etiketler
+     */
+    public Validators current() {
+        return current.get();
+    }
+
+    /**
+     * If-None-Match geçerliyse 304 yanıtını, değilse null döndürür
+     */
+    public Response notModified(Request request, Validators validators) {
+        Response.ResponseBuilder builder = request.evaluatePreconditions(validators.entityTag());
+        return builder == null ? null : validators.apply(builder).build();
+    }
+
+    private Validators validators(long version, long stockVersion) {
+        return new Validators(version, stockVersion, new EntityTag(epoch + "-" + version + "-" + stockVersion));
+    }
+
+    public static final class Validators {
+        private static final CacheControl REVALIDATE;
+
+        static {
+            REVALIDATE = new CacheControl();
+            REVALIDATE.setNoCache(true);
+        }
+
+        private final long version;
+        private final long stockVersion;
+        private final EntityTag entityTag;
+
+        private Validators(long version, long stockVersion, EntityTag entityTag) {
+            this.version = version;
+            this.stockVersion = stockVersion;
+            this.entityTag = entityTag;
+        }
+
+        public long version() { return version; }
+        public EntityTag entityTag() { return entityTag; }
+
+        /**
+         * Yanıta ETag ve istemcinin her seferinde doğrulama yapmasını sağlayan Cache-Control ekler
+         */
+        public Response.ResponseBuilder apply(Response.ResponseBuilder builder) {
+            return builder.tag(entityTag)
+                .cacheControl(REVALIDATE);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.CartItemDTO;
+import com.bookstore.dto.OrderDTO;
+import com.bookstore.dto.OrderItemDTO;
+import com.bookstore.entity.Book;
+import com.bookstore.entity.Order;
+import com.bookstore.entity.OrderItem;
+import com.bookstore.event.OrderPlacedEvent;
+import com.bookstore.inventory.StockLedger.Outcome;
+import com.bookstore.inventory.StockLedger.Reservation;
+import com.bookstore.repository.CartRepository;
+import com.bookstore.repository.OrderRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sepeti tek transaction içinde siparişe dönüştürür.
+ *
+ * Sipariş satırları sequence id'ler sayesinde JDBC batch olarak yazılır. Aynı Idempotency-Key ile
+ * tekrarlanan istekler veritabanına gitmeden bellekte yakalanır: devam eden denemenin sonucunu
+ * bekler ya da tamamlanmış siparişi tekrar döndürür.
+ */
+@ApplicationScoped
+public class CheckoutService {
+
+    private static final Logger LOG = Logger.getLogger(CheckoutService.class);
+
+    private static final String INITIAL_STATUS = "pending";
+
+    /**
+     * Sipariş ve isteğin daha önce işlenmiş olup olmadığı
+     */
+    public record Checkout(OrderDTO order, boolean replayed) {}
+
+    private record Attempt(CompletableFuture<OrderDTO> result, long startedAtMillis) {}
+
+    @Inject
+    CartRepository cartRepository;
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    CartService cartService;
+
+    @Inject
+    InventoryService inventoryService;
+
+    @Inject
+    Event<OrderPlacedEvent> orderPlaced;
+
+    @ConfigProperty(name = "bookstore.checkout.idempotency-ttl", defaultValue = "24h")
+    Duration idempotencyTtl;
+
+    private final ConcurrentHashMap<String, Attempt> attempts = new ConcurrentHashMap<>();
+
+    /**
+     * Müşterinin sepetinden sipariş oluşturur. {@code idempotencyKey} null değilse aynı müşteri
+     * ve anahtarla gelen tekrarlar ilk siparişi döndürür.
+     */
+    public Checkout checkout(Long customerId, String idempotencyKey, String shippingAddress, String paymentMethod) {
+        if (idempotencyKey == null) {
+            return new Checkout(placeOrder(customerId, shippingAddress, paymentMethod), false);
+        }
+
+        String key = customerId + ":" + idempotencyKey;
+        Attempt attempt = new Attempt(new CompletableFuture<>(), System.currentTimeMillis());
+        Attempt existing = attempts.putIfAbsent(key, attempt);
+        if (existing != null) {
+            try {
+                return new Checkout(existing.result().join(), true);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            OrderDTO order = placeOrder(customerId, shippingAddress, paymentMethod);
+            attempt.result().complete(order);
+            return new Checkout(order, false);
+        } catch (RuntimeException e) {
+            // Başarısız deneme anahtarı tutmaz; istemci aynı anahtarla tekrar deneyebilir
+            attempts.remove(key, attempt);
+            attempt.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(every = "10m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeAttempts() {
+        long cutoff = System.currentTimeMillis() - idempotencyTtl.toMillis();
+        attempts.values().removeIf(attempt -> attempt.startedAtMillis() < cutoff && attempt.result().isDone());
+    }
+
+    private OrderDTO placeOrder(Long customerId, String shippingAddress, String paymentMethod) {
+        Reservation[] reservation = new Reservation[1];
+        OrderDTO order;
+        try {
+            order = QuarkusTransaction.requiringNew().call(() -> {
+                List<CartItemDTO> cart = cartRepository.findItems(customerId);
+                if (cart.isEmpty()) {
+                    throw new EmptyCartException();
+                }
+
+                // Stok takibi yapılan kitaplar ayrılır; siparişin geri kalanı başarısız olursa serbest bırakılır
+                Map<Long, Integer> stocked = new LinkedHashMap<>();
+                for (CartItemDTO item : cart) {
+                    if (inventoryService.isTracked(item.bookId)) {
+                        stocked.put(item.bookId, item.quantity);
+                    }
+                }
+                if (!stocked.isEmpty()) {
+                    reservation[0] = inventoryService.reserve(customerId, stocked);
+                }
+
+                return persistOrder(customerId, cart, shippingAddress, paymentMethod);
+            });
+        } catch (RuntimeException e) {
+            if (reservation[0] != null) {
+                inventoryService.release(reservation[0].id(), customerId);
+            }
+            throw e;
+        }
+
+        if (reservation[0] != null && inventoryService.commit(reservation[0].id(), customerId) != Outcome.DONE) {
+            LOG.warnf("Stock reservation %s of order %d expired before commit", reservation[0].id(), order.orderId);
+        }
+        cartService.invalidate(customerId);
+        return order;
+    }
+
+    private OrderDTO persistOrder(Long customerId, List<CartItemDTO> cart, String shippingAddress, String paymentMethod) {
+        LocalDateTime now = LocalDateTime.now();
+        Order order = new Order();
+        order.customerId = customerId;
+        order.orderDate = now;
+        order.createdAt = now;
+        order.status = INITIAL_STATUS;
+        order.shippingAddress = shippingAddress;
+        order.paymentMethod = paymentMethod;
+
+        BigDecimal total = BigDecimal.ZERO;
+        List<OrderItemDTO> itemDTOs = new ArrayList<>(cart.size());
+        List<OrderPlacedEvent.Item> eventItems = new ArrayList<>(cart.size());
+        for (CartItemDTO line : cart) {
+            OrderItem item = new OrderItem();
+            item.order = order;
+            // Kitap yüklenmez; yalnızca yabancı anahtar için referans kullanılır
+            item.book = orderRepository.getEntityManager().getReference(Book.class, line.bookId);
+            item.quantity = line.quantity;
+            item.unitPrice = line.price;
+            item.totalPrice = line.price.multiply(BigDecimal.valueOf(line.quantity));
+            item.createdAt = now;
+            order.items.add(item);
+
+            total = total.add(item.totalPrice);
+            itemDTOs.add(new OrderItemDTO(line.bookId, line.title, line.quantity, item.unitPrice, item.totalPrice));
+            eventItems.add(new OrderPlacedEvent.Item(line.bookId, line.title, line.genreName, line.quantity));
+        }
+        order.totalPrice = total;
+
+        orderRepository.persist(order);
+        cartRepository.clear(customerId);
+        orderPlaced.fire(new OrderPlacedEvent(order.id, customerId, now, List.copyOf(eventItems)));
+
+        return new OrderDTO(order.id, order.orderDate, order.status, order.totalPrice,
+                order.shippingAddress, order.paymentMethod, itemDTOs);
+    }
+}
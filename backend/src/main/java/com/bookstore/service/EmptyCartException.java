@@ -0,0 +1,12 @@
+package com.bookstore.service;
+
+/**
+ * Boş bir sepetle sipariş verilmeye çalışıldığında fırlatılır.
+ * İstemciye 400 olarak döndürülmelidir.
+ */
+public class EmptyCartException extends RuntimeException {
+
+    public EmptyCartException() {
+        super("Sepet boş");
+    }
+}
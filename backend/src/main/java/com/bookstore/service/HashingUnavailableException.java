@@ -0,0 +1,17 @@
+package com.bookstore.service;
+
+/**
+ * Şifre hashleme kuyruğu dolu olduğunda ya da iş azami bekleme süresini aştığında fırlatılır.
+ * İstemciye 503 ve Retry-After olarak döndürülmelidir.
+ */
+public class HashingUnavailableException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public HashingUnavailableException(int retryAfterSeconds) {
+        super("Sunucu şu anda yoğun, lütfen daha sonra tekrar deneyin");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() { return retryAfterSeconds; }
+}
@@ -0,0 +1,17 @@
+package com.bookstore.service;
+
+/**
+ * İstenen adet kitabın satılabilir stoğundan fazla olduğunda fırlatılır.
+ * İstemciye 409 olarak döndürülmelidir.
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private final long bookId;
+
+    public InsufficientStockException(long bookId) {
+        super("Yetersiz stok: kitap " + bookId);
+        this.bookId = bookId;
+    }
+
+    public long getBookId() { return bookId; }
+}
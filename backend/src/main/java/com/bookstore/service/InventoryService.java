@@ -0,0 +1,282 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.event.CatalogChangedEvent;
+import com.bookstore.inventory.StockLedger;
+import com.bookstore.inventory.StockLedger.Availability;
+import com.bookstore.inventory.StockLedger.Outcome;
+import com.bookstore.inventory.StockLedger.Reservation;
+import com.bookstore.repository.InventoryRepository;
+import com.bookstore.security.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stok ve rezervasyonları bellekte tutar.
+ *
+ * Satış yolu veritabanına gitmez: rezervasyon, commit ve release {@link StockLedger} üzerindeki
+ * atomik sayaçlarla yapılır. Depodaki adet farkları periyodik olarak toplu yazılır; süresi dolan
+ * rezervasyonlar timing wheel ile serbest bırakılır.
+ */
+@ApplicationScoped
+public class InventoryService {
+
+    private static final Logger LOG = Logger.getLogger(InventoryService.class);
+
+    private static final long WHEEL_TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 1024;
+
+    @Inject
+    InventoryRepository inventoryRepository;
+
+    @Inject
+    CatalogVersion catalogVersion;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "bookstore.inventory.reservation-ttl", defaultValue = "10m")
+    Duration reservationTtl;
+
+    @ConfigProperty(name = "bookstore.inventory.low-stock-threshold", defaultValue = "5")
+    int lowStockThreshold;
+
+    @ConfigProperty(name = "bookstore.inventory.max-batch", defaultValue = "500")
+    int maxBatch;
+
+    private final Map<Long, Integer> failedDeltas = new HashMap<>();
+    private StockLedger ledger;
+    private TimingWheel<UUID> expiries;
+    private Counter expiredReservations;
+    private Counter droppedDeltas;
+
+    void onStart(@Observes StartupEvent event) {
+        ledger = new StockLedger(lowStockThreshold, catalogVersion::availabilityChanged);
+        expiries = new TimingWheel<>(WHEEL_TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+        load();
+
+        Gauge.builder("bookstore.inventory.reservations", ledger, StockLedger::openReservations)
+            .description("Open stock reservations")
+            .register(meterRegistry);
+        Gauge.builder("bookstore.inventory.pending-deltas", ledger, StockLedger::pendingDeltas)
+            .description("Books with stock changes waiting to be written to the database")
+            .register(meterRegistry);
+        expiredReservations = Counter.builder("bookstore.inventory.reservations.expired")
+            .description("Reservations released because they were neither committed nor released in time")
+            .register(meterRegistry);
+        droppedDeltas = Counter.builder("bookstore.inventory.deltas.dropped")
+            .description("Stock changes discarded because their book no longer exists")
+            .register(meterRegistry);
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        flush();
+    }
+
+    /**
+     * Kitapların satılabilir adetlerini ayırır; stok yetersizse hiçbirini ayırmadan hata fırlatır
+     */
+    public Reservation reserve(long customerId, Map<Long, Integer> lines) {
+        long[] shortage = new long[1];
+        Reservation reservation = ledger.reserve(customerId, lines,
+                System.currentTimeMillis() + reservationTtl.toMillis(), shortage);
+        if (reservation == null) {
+            throw new InsufficientStockException(shortage[0]);
+        }
+        expiries.schedule(reservation.id(), reservation.expiresAtMillis());
+        return reservation;
+    }
+
+    public Outcome commit(UUID reservationId, long customerId) {
+        return ledger.commit(reservationId, customerId);
+    }
+
+    public Outcome release(UUID reservationId, long customerId) {
+        return ledger.release(reservationId, customerId);
+    }
+
+    /**
+     * Depodaki adedi verilen değere getirir; kitap yoksa false döner ve kayıt açılmaz
+     */
+    public boolean setOnHand(long bookId, int quantity) {
+        if (!ledger.isTracked(bookId) && !inventoryRepository.bookExists(bookId)) {
+            return false;
+        }
+        ledger.setOnHand(bookId, quantity);
+        return true;
+    }
+
+    public boolean isTracked(long bookId) {
+        return ledger.isTracked(bookId);
+    }
+
+    public int available(long bookId) {
+        return ledger.available(bookId);
+    }
+
+    public int onHand(long bookId) {
+        return ledger.onHand(bookId);
+    }
+
+    public Availability availability(long bookId) {
+        return ledger.availability(bookId);
+    }
+
+    /**
+     * Kitapların stok durumunu bellekten ekler. Listeler paylaşılan önbellek nesneleri
+     * içerebildiği için kopyalar döndürülür.
+     */
+    public List<BookDTO> withAvailability(List<BookDTO> books) {
+        List<BookDTO> result = new ArrayList<>(books.size());
+        for (BookDTO book : books) {
+            result.add(withAvailability(book));
+        }
+        return result;
+    }
+
+    public BookDTO withAvailability(BookDTO book) {
+        BookDTO copy = new BookDTO(book.bookId, book.title, book.isbn, book.authorName, book.genreName,
+                book.publisherName, book.publicationDate, book.price, book.format, book.description,
+                book.coverImageUrl, book.createdAt);
+        Availability availability = ledger.availability(book.bookId);
+        copy.availability = availability == null ? null : availability.name();
+        return copy;
+    }
+
+    /**
+     * Silinen kitabın stok kaydı bırakılır; yazılmamış farkı artık yazılamaz
+     */
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        if (ledger != null && event.getEntityType() == CatalogChangedEvent.EntityType.BOOK
+                && event.getChangeType() == CatalogChangedEvent.ChangeType.DELETED) {
+            forget(event.getId());
+        }
+    }
+
+    @Scheduled(every = "1s", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void expireReservations() {
+        if (expiries != null) {
+            expiries.advance(System.currentTimeMillis(), id -> {
+                if (ledger.expire(id)) {
+                    expiredReservations.increment();
+                }
+            });
+        }
+    }
+
+    @Scheduled(every = "{bookstore.inventory.flush-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Biriken adet farklarını max-batch boyutunda parçalar halinde yazar
+     */
+    synchronized void flush() {
+        if (ledger == null) {
+            return;
+        }
+        Map<Long, Integer> deltas = ledger.drainDeltas();
+        failedDeltas.forEach((bookId, delta) -> deltas.merge(bookId, delta, Integer::sum));
+        failedDeltas.clear();
+
+        Iterator<Map.Entry<Long, Integer>> iterator = deltas.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map<Long, Integer> batch = new HashMap<>();
+            while (batch.size() < maxBatch && iterator.hasNext()) {
+                Map.Entry<Long, Integer> delta = iterator.next();
+                if (delta.getValue() != 0) {
+                    batch.put(delta.getKey(), delta.getValue());
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                inventoryRepository.applyDeltas(batch);
+            } catch (RuntimeException e) {
+                if (isConstraintViolation(e) && applyOneByOne(batch)) {
+                    continue;
+                }
+                // Farklar birikmeye devam eder ve bir sonraki denemede birlikte yazılır
+                batch.forEach((bookId, delta) -> failedDeltas.merge(bookId, delta, Integer::sum));
+                iterator.forEachRemaining(rest -> failedDeltas.merge(rest.getKey(), rest.getValue(), Integer::sum));
+                LOG.errorf(e, "Could not write stock changes for %d books", batch.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Kısıt ihlaliyle reddedilen partiyi kitap kitap yazar. Tek başına da reddedilen fark, kitabı
+     * artık olmadığı için (inventory.book_id yabancı anahtarı) atılır; böylece tek bir kitap diğer
+     * tüm stok değişikliklerinin yazılmasını engelleyemez. Veritabanına hiç ulaşılamazsa yazılamayan
+     * farkları geri koyup false döner.
+     */
+    private boolean applyOneByOne(Map<Long, Integer> batch) {
+        Iterator<Map.Entry<Long, Integer>> iterator = batch.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Integer> delta = iterator.next();
+            try {
+                inventoryRepository.applyDeltas(Map.of(delta.getKey(), delta.getValue()));
+            } catch (RuntimeException e) {
+                if (!isConstraintViolation(e)) {
+                    failedDeltas.merge(delta.getKey(), delta.getValue(), Integer::sum);
+                    iterator.forEachRemaining(rest -> failedDeltas.merge(rest.getKey(), rest.getValue(), Integer::sum));
+                    LOG.errorf(e, "Could not write stock changes for %d books", batch.size());
+                    return false;
+                }
+                droppedDeltas.increment();
+                LOG.warnf("Dropped stock change %+d for book %d: %s", delta.getValue(), delta.getKey(), e.getMessage());
+                ledger.forget(delta.getKey());
+            }
+        }
+        return true;
+    }
+
+    private synchronized void forget(long bookId) {
+        ledger.forget(bookId);
+        failedDeltas.remove(bookId);
+    }
+
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Açılışta stok adetlerini belleğe yükler
+     */
+    private void load() {
+        List<Object[]> rows = QuarkusTransaction.requiringNew()
+                .call(() -> inventoryRepository.findAllQuantities());
+        for (Object[] row : rows) {
+            ledger.load(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        LOG.infof("Loaded stock for %d books", rows.size());
+    }
+}
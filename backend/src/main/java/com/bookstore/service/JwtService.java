@@ -1,6 +1,26 @@
 package com.bookstore.service;
 
+import com.bookstore.security.JwtClaims;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
@@ -9,28 +29,196 @@ import java.util.Set;
 @ApplicationScoped
 public class JwtService {
 
-    // SECRET_KEY is used in the token generation methods
+    private static final Logger LOG = Logger.getLogger(JwtService.class);
+
     private static final int ACCESS_TOKEN_EXPIRY_MINUTES = 15;
-    private static final int REFRESH_TOKEN_EXPIRY_DAYS = 7;
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = BASE64_URL.encodeToString(
+            "{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    // Dosya sistemi yolu; varsayılanı yoktur, verilmezse uygulama başlamaz
+    @ConfigProperty(name = "bookstore.jwt.private-key-location")
+    String privateKeyLocation;
+
+    @ConfigProperty(name = "bookstore.jwt.issuer", defaultValue = "bookstore")
+    String issuer;
+
+    private PrivateKey privateKey;
+    private PublicKey publicKey;
+
+    // Signature nesneleri thread-safe değildir; her thread kendi örneğini yeniden kullanır
+    private final ThreadLocal<Signature> signers = ThreadLocal.withInitial(() -> newSignature());
+    private final ThreadLocal<Signature> verifiers = ThreadLocal.withInitial(() -> newSignature());
+
+    /**
+     * İmzalama anahtarını yükler; doğrulama anahtarı ondan türetilir, böylece eşleşmeyen
+     * bir açık anahtarla başlamak mümkün olmaz
+     */
+    @PostConstruct
+    void loadKeys() {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            useKey(keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(privateKeyLocation))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT keys could not be loaded from " + privateKeyLocation, e);
+        }
+    }
 
     /**
-     * Access token oluşturur (basit Base64 encoding)
+     * CDI dışında (ör. benchmark'larda) verilen RSA anahtarıyla imzalayan bir örnek oluşturur
      */
-    public String generateAccessToken(String username, String email, Set<String> roles) {
+    public static JwtService create(PrivateKey privateKey, String issuer) {
+        JwtService service = new JwtService();
+        service.issuer = issuer;
+        try {
+            service.useKey(privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT keys could not be loaded", e);
+        }
+        return service;
+    }
+
+    private void useKey(PrivateKey key) throws GeneralSecurityException {
+        if (!(key instanceof RSAPrivateCrtKey crtKey)) {
+            throw new IllegalStateException("JWT private key must be an RSA key in PKCS#8 format");
+        }
+        privateKey = key;
+        publicKey = KeyFactory.getInstance("RSA")
+            .generatePublic(new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+    }
+
+    /**
+     * Anahtar eksik ya da okunamıyorsa ilk istekte değil, başlangıçta hata verir
+     */
+    void onStart(@Observes StartupEvent event) {
+        LOG.infof("JWT signing key loaded from %s", privateKeyLocation);
+    }
+
+    /**
+     * RS256 ile imzalı access token oluşturur
+     */
+    public String generateAccessToken(Long customerId, String username, String email, Set<String> roles) {
+        long issuedAt = Instant.now().getEpochSecond();
         long expiryTime = Instant.now().plus(ACCESS_TOKEN_EXPIRY_MINUTES, ChronoUnit.MINUTES).getEpochSecond();
-        String payload = String.format("{\"username\":\"%s\",\"email\":\"%s\",\"roles\":%s,\"exp\":%d}", 
-                                     username, email, roles.toString(), expiryTime);
-        return Base64.getEncoder().encodeToString(payload.getBytes());
+
+        StringBuilder payload = new StringBuilder(192);
+        payload.append("{\"iss\":");
+        appendJsonString(payload, issuer);
+        payload.append(",\"sub\":");
+        appendJsonString(payload, username);
+        payload.append(",\"uid\":").append(customerId);
+        payload.append(",\"email\":");
+        appendJsonString(payload, email);
+        payload.append(",\"roles\":[");
+        boolean first = true;
+        for (String role : roles) {
+            if (!first) {
+                payload.append(',');
+            }
+            appendJsonString(payload, role);
+            first = false;
+        }
+        payload.append("],\"typ\":\"access\",\"iat\":").append(issuedAt)
+               .append(",\"exp\":").append(expiryTime).append('}');
+        return sign(payload.toString());
     }
 
     /**
-     * Refresh token oluşturur (basit Base64 encoding)
+     * İmzayı ve süreyi doğrular; token geçersizse null döner
      */
-    public String generateRefreshToken(String username) {
-        long expiryTime = Instant.now().plus(REFRESH_TOKEN_EXPIRY_DAYS, ChronoUnit.DAYS).getEpochSecond();
-        String payload = String.format("{\"username\":\"%s\",\"type\":\"refresh\",\"exp\":%d}", 
-                                     username, expiryTime);
-        return Base64.getEncoder().encodeToString(payload.getBytes());
+    public JwtClaims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+        // Yalnızca bizim ürettiğimiz başlık kabul edilir (alg değiştirme saldırılarına karşı)
+        if (!token.regionMatches(0, HEADER, 0, firstDot) || firstDot != HEADER.length()) {
+            return null;
+        }
+
+        try {
+            byte[] signingInput = token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII);
+            byte[] signature = BASE64_URL_DECODER.decode(token.substring(secondDot + 1));
+            Signature verifier = verifiers.get();
+            verifier.initVerify(publicKey);
+            verifier.update(signingInput);
+            if (!verifier.verify(signature)) {
+                return null;
+            }
+
+            JwtClaims claims = JwtClaims.parse(BASE64_URL_DECODER.decode(token.substring(firstDot + 1, secondDot)));
+            if (!issuer.equals(claims.getIssuer()) || claims.getExpiresAt() <= Instant.now().getEpochSecond()) {
+                return null;
+            }
+            return claims;
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    private String sign(String payload) {
+        String signingInput = HEADER + "." + BASE64_URL.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        try {
+            Signature signer = signers.get();
+            signer.initSign(privateKey);
+            signer.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + BASE64_URL.encodeToString(signer.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Token could not be signed", e);
+        }
     }
-}
 
+    private static Signature newSignature() {
+        try {
+            return Signature.getInstance("SHA256withRSA");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void appendJsonString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (ch < 0x20) {
+                        out.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        out.append(ch);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * PEM dosyasını dosya sisteminden okur. Anahtar bilerek classpath'te aranmaz: jar'a
+     * girmemeli, ortam değişkeni ya da secret olarak bağlanan bir dosyadan gelmelidir.
+     */
+    private static byte[] readPem(String location) {
+        try {
+            String pem = Files.readString(Path.of(location), StandardCharsets.US_ASCII);
+            String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Key could not be read from " + location, e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.bookstore.service;
+
+import com.bookstore.repository.CustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Son giriş zamanlarını bellekte biriktirip toplu olarak yazar (write-behind).
+ *
+ * Her müşteri için yalnızca en son zaman tutulur. Tampon belirli aralıklarla ya da
+ * max-pending kayda ulaştığında tek bir {@code UPDATE ... FROM (VALUES ...)} ile boşaltılır;
+ * uygulama kapanırken de kalan kayıtlar yazılır.
+ */
+@ApplicationScoped
+public class LastLoginRecorder {
+
+    private static final Logger LOG = Logger.getLogger(LastLoginRecorder.class);
+
+    @Inject
+    CustomerRepository customerRepository;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "bookstore.last-login.max-pending", defaultValue = "500")
+    int maxPending;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    // Aynı anda tek boşaltma çalışır; kapanışta devam eden boşaltmanın bitmesi beklenir
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Kuyrukta en fazla bir boşaltma görevi bekler
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "last-login-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("bookstore.last-login.pending", pending, Map::size)
+            .description("Last-login updates waiting to be flushed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Giriş zamanını kaydeder; veritabanına daha sonra yazılır
+     */
+    public void record(Long customerId, LocalDateTime loginTime) {
+        pending.merge(customerId, loginTime, LastLoginRecorder::latest);
+        if (pending.size() >= maxPending && flushQueued.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    flushQueued.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                // Uygulama kapanıyor; kalan kayıtları onShutdown yazar
+                flushQueued.set(false);
+            }
+        }
+    }
+
+    @Scheduled(every = "{bookstore.last-login.flush-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFlush() {
+        flush();
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+            // Zamanlanmış bir boşaltma sürüyorsa bitmesini bekle, sonra kalanları yaz
+            if (!flushLock.tryLock(10, TimeUnit.SECONDS)) {
+                LOG.warnf("Last-login flush still running at shutdown, %d updates not written", pending.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            drain();
+            if (!pending.isEmpty()) {
+                LOG.warnf("%d last-login updates not written at shutdown", pending.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Başka bir boşaltma sürmüyorsa tamponu boşaltır
+     */
+    void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Tamponu max-pending boyutunda parçalar halinde boşaltır; flushLock tutulurken çağrılır
+     */
+    private void drain() {
+        while (!pending.isEmpty()) {
+            Map<Long, LocalDateTime> batch = new HashMap<>();
+            for (Long customerId : pending.keySet()) {
+                LocalDateTime loginTime = pending.remove(customerId);
+                if (loginTime != null) {
+                    batch.put(customerId, loginTime);
+                }
+                if (batch.size() >= maxPending) {
+                    break;
+                }
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                customerRepository.updateLastLogins(batch);
+            } catch (RuntimeException e) {
+                // Kayıtlar kaybolmasın, bir sonraki denemede tekrar yazılır
+                batch.forEach((customerId, loginTime) -> pending.merge(customerId, loginTime, LastLoginRecorder::latest));
+                LOG.errorf(e, "Could not flush %d last-login updates", batch.size());
+                return;
+            }
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.OrderCursor;
+import com.bookstore.dto.OrderDTO;
+import com.bookstore.dto.OrderItemDTO;
+import com.bookstore.dto.OrderPageDTO;
+import com.bookstore.repository.OrderRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Müşterinin sipariş geçmişi. Bir sayfa, boyutundan bağımsız olarak iki sorgudur:
+ * siparişler (keyset) ve sayfadaki tüm siparişlerin satırları.
+ */
+@ApplicationScoped
+public class OrderHistoryService {
+
+    @Inject
+    OrderRepository orderRepository;
+
+    public OrderPageDTO page(Long customerId, OrderCursor after, int pageSize) {
+        List<OrderDTO> orders = orderRepository.findPage(customerId, after, pageSize + 1);
+
+        String next = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            next = OrderCursor.after(orders.get(pageSize - 1)).encode();
+        }
+        if (orders.isEmpty()) {
+            return new OrderPageDTO(orders, null);
+        }
+
+        Map<Long, OrderDTO> byId = new HashMap<>(orders.size() * 2);
+        for (OrderDTO order : orders) {
+            byId.put(order.orderId, order);
+        }
+        for (Object[] row : orderRepository.findItems(List.copyOf(byId.keySet()))) {
+            byId.get((Long) row[0]).items.add(new OrderItemDTO(
+                    (Long) row[1], (String) row[2], (Integer) row[3], (BigDecimal) row[4], (BigDecimal) row[5]));
+        }
+        return new OrderPageDTO(orders, next);
+    }
+}
@@ -1,25 +1,187 @@
 package com.bookstore.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @ApplicationScoped
 public class PasswordService {
 
-    private static final int BCRYPT_ROUNDS = 12;
+    private static final Logger LOG = Logger.getLogger(PasswordService.class);
+
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // 0: işlemci sayısının yarısı, böylece katalog istekleri için çekirdek kalır
+    @ConfigProperty(name = "bookstore.password.hashing.threads", defaultValue = "0")
+    int threads;
+
+    @ConfigProperty(name = "bookstore.password.hashing.queue-size", defaultValue = "64")
+    int queueSize;
+
+    @ConfigProperty(name = "bookstore.password.hashing.max-wait", defaultValue = "2s")
+    Duration maxWait;
+
+    @ConfigProperty(name = "bookstore.password.hashing.retry-after", defaultValue = "1")
+    int retryAfterSeconds;
+
+    // Verilirse kalibrasyon yapılmaz
+    @ConfigProperty(name = "bookstore.password.bcrypt.cost")
+    Optional<Integer> fixedCost;
+
+    @ConfigProperty(name = "bookstore.password.bcrypt.target-latency", defaultValue = "100ms")
+    Duration targetLatency;
+
+    @ConfigProperty(name = "bookstore.password.bcrypt.min-cost", defaultValue = "10")
+    int minCost;
+
+    @ConfigProperty(name = "bookstore.password.bcrypt.max-cost", defaultValue = "16")
+    int maxCost;
+
+    private volatile int cost = 12;
+    private ThreadPoolExecutor executor;
+    private Timer waitTimer;
+    private Timer hashTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("bookstore.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+            .description("Hashing tasks waiting for a thread")
+            .register(meterRegistry);
+        waitTimer = Timer.builder("bookstore.password.hashing.wait")
+            .description("Time a hashing task spent queued")
+            .register(meterRegistry);
+        hashTimer = Timer.builder("bookstore.password.hashing.duration")
+            .description("BCrypt hash/verify CPU time")
+            .register(meterRegistry);
+        Gauge.builder("bookstore.password.bcrypt.cost", this, PasswordService::getCost)
+            .description("BCrypt cost used for new hashes")
+            .register(meterRegistry);
+        rejectedCounter = Counter.builder("bookstore.password.hashing.rejected")
+            .description("Hashing tasks rejected because the queue was full or the wait limit was exceeded")
+            .register(meterRegistry);
+    }
+
+    /**
+     * CDI dışında (ör. benchmark'larda) sabit maliyetle çalışan bir örnek oluşturur;
+     * işi bitince {@link #shutdown()} çağrılmalıdır
+     */
+    public static PasswordService create(MeterRegistry meterRegistry, int cost, int threads, Duration maxWait) {
+        PasswordService service = new PasswordService();
+        service.meterRegistry = meterRegistry;
+        service.threads = threads;
+        service.queueSize = 64;
+        service.maxWait = maxWait;
+        service.retryAfterSeconds = 1;
+        service.fixedCost = Optional.of(cost);
+        service.init();
+        service.cost = cost;
+        return service;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * BCrypt maliyetini bu makinede hedef gecikmeyi aşmayan en yüksek değere ayarlar.
+     * En düşük maliyette ölçülen süre her adımda iki katına çıktığı için tahmin edilir,
+     * seçilen maliyet bir kez ölçülerek doğrulanır.
+     */
+    void calibrate(@Observes StartupEvent event) {
+        if (fixedCost.isPresent()) {
+            cost = fixedCost.get();
+            LOG.infof("BCrypt cost fixed at %d", cost);
+            return;
+        }
+
+        long baseNanos = measure(minCost);
+        long budgetNanos = targetLatency.toNanos();
+        int candidate = minCost;
+        while (candidate < maxCost && baseNanos << (candidate + 1 - minCost) <= budgetNanos) {
+            candidate++;
+        }
+        while (candidate > minCost && measure(candidate) > budgetNanos) {
+            candidate--;
+        }
+        cost = candidate;
+        LOG.infof("BCrypt cost calibrated to %d (cost %d took %d ms, budget %d ms)",
+            cost, minCost, baseNanos / 1_000_000, targetLatency.toMillis());
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Hash'in maliyeti güncel hedef maliyetten farklıysa true döner
+     */
+    public boolean needsRehash(String hashedPassword) {
+        // Biçim: $2a$10$<salt+hash>
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$'
+                || hashedPassword.charAt(6) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6)) != cost;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 
     /**
      * Şifreyi BCrypt ile hashler
+     *
+     * @throws HashingUnavailableException hashleme kuyruğu doluysa
      */
     public String hashPassword(String plainPassword) {
-        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(BCRYPT_ROUNDS));
+        return execute(() -> BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost)));
     }
 
     /**
      * Şifreyi doğrular
+     *
+     * @throws HashingUnavailableException hashleme kuyruğu doluysa
      */
     public boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return BCrypt.checkpw(plainPassword, hashedPassword);
+        return execute(() -> BCrypt.checkpw(plainPassword, hashedPassword));
     }
 
     /**
@@ -37,5 +199,59 @@ public class PasswordService {
         
         return hasUpperCase && hasLowerCase && hasDigit && hasSpecialChar;
     }
-}
 
+    /**
+     * Verilen maliyette birkaç hash'in en kısa süresini ölçer (ilki ısınma içindir)
+     */
+    private static long measure(int rounds) {
+        BCrypt.hashpw("calibration", BCrypt.gensalt(rounds));
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", BCrypt.gensalt(rounds));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * BCrypt işini ayrılmış havuzda çalıştırır. Kuyruk doluysa ya da iş max-wait içinde
+     * bitmezse hemen HashingUnavailableException fırlatır.
+     */
+    private <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new HashingUnavailableException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Kuyrukta bekleyen iş iptal edilir, sırası geldiğinde çalıştırılmaz
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new HashingUnavailableException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingUnavailableException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.bookstore.service;
+
+import com.bookstore.event.OrderPlacedEvent;
+import com.bookstore.ranking.CoPurchaseGraph;
+import com.bookstore.ranking.CoPurchaseGraph.Neighbour;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.jpa.HibernateHints;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Birlikte satın alma önerileri. Graf açılışta order_items'tan kurulur, her commit edilen
+ * siparişle artımlı güncellenir ve iptalleri yansıtmak için belirli aralıklarla yeniden kurulur.
+ */
+@ApplicationScoped
+public class RecommendationService {
+
+    private static final Logger LOG = Logger.getLogger(RecommendationService.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private record PendingOrder(long orderId, long[] bookIds) {}
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "bookstore.recommendations.top-n", defaultValue = "20")
+    int topN;
+
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "co-purchase-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final Object lock = new Object();
+    private final List<PendingOrder> pendingOrders = new ArrayList<>();
+    private boolean building;
+
+    private volatile CoPurchaseGraph graph;
+
+    void onStart(@Observes StartupEvent event) {
+        Gauge.builder("bookstore.recommendations.books", this, service -> {
+                CoPurchaseGraph current = service.graph;
+                return current == null ? 0 : current.books();
+            })
+            .description("Books with at least one co-purchase")
+            .register(meterRegistry);
+        scheduleRebuild();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Kitapla en sık birlikte alınan kitaplar; graf henüz kurulmadıysa boş liste
+     */
+    public List<Neighbour> recommendations(long bookId, int limit) {
+        CoPurchaseGraph current = graph;
+        return current == null ? List.of() : current.neighbours(bookId, Math.min(limit, topN));
+    }
+
+    public int topN() {
+        return topN;
+    }
+
+    void onOrderPlaced(@Observes(during = TransactionPhase.AFTER_SUCCESS) OrderPlacedEvent event) {
+        long[] bookIds = event.getItems().stream().mapToLong(OrderPlacedEvent.Item::bookId).toArray();
+        synchronized (lock) {
+            if (building) {
+                pendingOrders.add(new PendingOrder(event.getOrderId(), bookIds));
+            }
+            if (graph != null) {
+                graph.addOrder(bookIds);
+            }
+        }
+    }
+
+    @Scheduled(every = "{bookstore.recommendations.rebuild-interval}", delayed = "{bookstore.recommendations.rebuild-interval}")
+    void periodicRebuild() {
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        synchronized (lock) {
+            building = true;
+        }
+        try {
+            long start = System.nanoTime();
+            List<long[]> orders = new ArrayList<>();
+            long[] orderIds = QuarkusTransaction.requiringNew().call(() -> loadOrders(orders));
+            CoPurchaseGraph built = CoPurchaseGraph.build(orders.toArray(new long[0][]), topN, ForkJoinPool.commonPool());
+
+            synchronized (lock) {
+                // Kurulum sırasında gelen ve sorgunun görmediği siparişler eklenir
+                for (PendingOrder pending : pendingOrders) {
+                    if (Arrays.binarySearch(orderIds, pending.orderId()) < 0) {
+                        built.addOrder(pending.bookIds());
+                    }
+                }
+                graph = built;
+            }
+            LOG.debugf("Co-purchase graph built from %d orders for %d books in %d ms",
+                    orders.size(), built.books(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOG.error("Co-purchase graph could not be built", e);
+        } finally {
+            synchronized (lock) {
+                building = false;
+                pendingOrders.clear();
+            }
+        }
+    }
+
+    /**
+     * İptal edilmemiş siparişlerin kitaplarını sipariş başına bir dizi olarak okur;
+     * okunan sipariş id'lerini sıralı döndürür
+     */
+    @SuppressWarnings("unchecked")
+    private long[] loadOrders(List<long[]> orders) {
+        long[] orderIds = new long[1024];
+        int orderCount = 0;
+        long[] books = new long[16];
+        int bookCount = 0;
+        long currentOrder = -1;
+
+        try (Stream<Object[]> rows = entityManager.createNativeQuery("""
+                SELECT oi.order_id, oi.book_id
+                FROM order_items oi
+                JOIN orders o ON o.order_id = oi.order_id
+                WHERE o.status <> 'cancelled'
+                ORDER BY oi.order_id
+                """)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                long orderId = ((Number) row[0]).longValue();
+                if (orderId != currentOrder) {
+                    if (bookCount > 1) {
+                        orders.add(Arrays.copyOf(books, bookCount));
+                    }
+                    if (orderCount == orderIds.length) {
+                        orderIds = Arrays.copyOf(orderIds, orderCount * 2);
+                    }
+                    orderIds[orderCount++] = orderId;
+                    currentOrder = orderId;
+                    bookCount = 0;
+                }
+                if (bookCount == books.length) {
+                    books = Arrays.copyOf(books, bookCount * 2);
+                }
+                books[bookCount++] = ((Number) row[1]).longValue();
+            }
+        }
+        if (bookCount > 1) {
+            orders.add(Arrays.copyOf(books, bookCount));
+        }
+        return Arrays.copyOf(orderIds, orderCount);
+    }
+}
@@ -0,0 +1,101 @@
+package com.bookstore.service;
+
+import com.bookstore.entity.Author;
+import com.bookstore.entity.Genre;
+import com.bookstore.entity.Publisher;
+import com.bookstore.entity.Role;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Referans verilerinin (yazar, tür, yayınevi, rol) ikinci seviye önbellek istatistikleri ve temizliği
+ */
+@ApplicationScoped
+public class ReferenceDataCache {
+
+    public static final String QUERY_REGION = "queries";
+
+    private static final Map<String, Class<?>> ENTITY_REGIONS = new LinkedHashMap<>();
+    static {
+        ENTITY_REGIONS.put("author", Author.class);
+        ENTITY_REGIONS.put("genre", Genre.class);
+        ENTITY_REGIONS.put("publisher", Publisher.class);
+        ENTITY_REGIONS.put("role", Role.class);
+    }
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    /**
+     * Bölge başına isabet/ıskalama istatistiklerini döner
+     */
+    public List<RegionStats> stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<RegionStats> result = new ArrayList<>();
+        ENTITY_REGIONS.forEach((name, entityClass) ->
+                result.add(RegionStats.of(name, statistics.getDomainDataRegionStatistics(entityClass.getName()))));
+        result.add(RegionStats.of(QUERY_REGION,
+                statistics.getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)));
+        return result;
+    }
+
+    /**
+     * Tüm referans verisi bölgelerini ve sorgu önbelleğini boşaltır
+     */
+    public void evictAll() {
+        ENTITY_REGIONS.values().forEach(entityClass -> sessionFactory.getCache().evictEntityData(entityClass));
+        sessionFactory.getCache().evictDefaultQueryRegion();
+    }
+
+    /**
+     * Tek bir bölgeyi boşaltır; bölge bilinmiyorsa false döner
+     */
+    public boolean evict(String region) {
+        String name = region.toLowerCase(Locale.ROOT);
+        if (QUERY_REGION.equals(name)) {
+            sessionFactory.getCache().evictDefaultQueryRegion();
+            return true;
+        }
+        Class<?> entityClass = ENTITY_REGIONS.get(name);
+        if (entityClass == null) {
+            return false;
+        }
+        sessionFactory.getCache().evictEntityData(entityClass);
+        // Önbellekteki sorgu sonuçları silinen kayıtların id'lerini tutar
+        sessionFactory.getCache().evictDefaultQueryRegion();
+        return true;
+    }
+
+    public static class RegionStats {
+        public String region;
+        public long hits;
+        public long misses;
+        public long puts;
+        public long elements;
+        public double hitRatio;
+
+        static RegionStats of(String region, CacheRegionStatistics statistics) {
+            RegionStats stats = new RegionStats();
+            stats.region = region;
+            if (statistics != null) {
+                stats.hits = statistics.getHitCount();
+                stats.misses = statistics.getMissCount();
+                stats.puts = statistics.getPutCount();
+                stats.elements = statistics.getElementCountInMemory();
+                long lookups = stats.hits + stats.misses;
+                stats.hitRatio = lookups == 0 ? 0.0 : (double) stats.hits / lookups;
+            }
+            return stats;
+        }
+    }
+}
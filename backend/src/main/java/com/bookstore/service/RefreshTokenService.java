@@ -0,0 +1,374 @@
+package com.bookstore.service;
+
+import com.bookstore.entity.RefreshToken;
+import com.bookstore.event.CustomerDeactivatedEvent;
+import com.bookstore.repository.RefreshTokenRepository;
+import com.bookstore.security.RefreshTokenStore;
+import com.bookstore.security.RefreshTokenStore.Entry;
+import com.bookstore.security.RefreshTokenStore.Family;
+import com.bookstore.security.RefreshTokenStore.Outcome;
+import com.bookstore.security.RefreshTokenStore.State;
+import com.bookstore.security.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opak refresh token'ları üretir ve her kullanımda döndürür (rotation).
+ *
+ * Doğrulama yalnızca bellekteki {@link RefreshTokenStore} üzerinden yapılır; veritabanına
+ * yazımlar kuyruğa alınıp toplu olarak uygulanır (write-behind) ve açılışta geri yüklenir.
+ * Kullanılmış bir token tekrar gelirse token çalınmış sayılır ve tüm aile iptal edilir.
+ */
+@ApplicationScoped
+public class RefreshTokenService {
+
+    private static final Logger LOG = Logger.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int STRIPES = 64;
+    private static final long WHEEL_TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 4096;
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private enum OpType { INSERT, USED, REVOKE_FAMILY }
+
+    private record Op(OpType type, Entry entry, LocalDateTime at) {}
+
+    /**
+     * Rotasyon sonucu: yeni ham token ve sahibinin bilgileri
+     */
+    public record Rotation(String refreshToken, Entry entry) {}
+
+    @Inject
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "bookstore.refresh-token.ttl", defaultValue = "7d")
+    Duration ttl;
+
+    @ConfigProperty(name = "bookstore.refresh-token.max-batch", defaultValue = "1000")
+    int maxBatch;
+
+    // Veritabanı uzun süre yazılamazsa kuyruğun sınırı; aile iptalleri her zaman kabul edilir
+    @ConfigProperty(name = "bookstore.refresh-token.max-pending", defaultValue = "100000")
+    int maxPending;
+
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentLinkedQueue<Op> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger droppedSinceFlush = new AtomicInteger();
+    private final List<Op> failedBatch = new ArrayList<>();
+    private RefreshTokenStore store;
+    private Counter droppedWrites;
+
+    void onStart(@Observes StartupEvent event) {
+        store = new RefreshTokenStore(STRIPES,
+                new TimingWheel<>(WHEEL_TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis()));
+        load();
+
+        Gauge.builder("bookstore.refresh-tokens.active", store, RefreshTokenStore::size)
+            .description("Refresh tokens held in memory, including used ones kept for reuse detection")
+            .register(meterRegistry);
+        Gauge.builder("bookstore.refresh-tokens.pending-writes", pendingCount, AtomicInteger::get)
+            .description("Refresh token changes waiting to be written to the database")
+            .register(meterRegistry);
+        droppedWrites = Counter.builder("bookstore.refresh-tokens.dropped-writes")
+            .description("Refresh token changes not written because the queue was full or the database rejected them")
+            .register(meterRegistry);
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        flush();
+    }
+
+    /**
+     * Yeni bir token ailesi başlatır (login)
+     */
+    public String issue(Long customerId, String username, String email, Set<String> roles) {
+        return issue(new Family(UUID.randomUUID().toString()), customerId, username, email, roles);
+    }
+
+    /**
+     * Token'ı tek seferlik kullanıp aynı aileden yenisini verir. Veritabanına gidilmez.
+     */
+    public Rotation rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw new RuntimeException("Geçersiz refresh token");
+        }
+
+        Entry[] holder = new Entry[1];
+        Outcome outcome = store.consume(hash(refreshToken), System.currentTimeMillis(), holder);
+        switch (outcome) {
+            case CONSUMED -> {
+                Entry used = holder[0];
+                enqueue(new Op(OpType.USED, used, LocalDateTime.now()));
+                String next = issue(used.getFamily(), used.getCustomerId(), used.getUsername(),
+                        used.getEmail(), used.getRoles());
+                return new Rotation(next, used);
+            }
+            case REUSED -> {
+                Family family = holder[0].getFamily();
+                if (!family.isRevoked()) {
+                    family.revoke();
+                    enqueue(new Op(OpType.REVOKE_FAMILY, holder[0], LocalDateTime.now()));
+                    LOG.warnf("Refresh token reuse detected for customer %d, token family revoked",
+                            holder[0].getCustomerId());
+                }
+                throw new RuntimeException("Refresh token daha önce kullanılmış, oturum sonlandırıldı");
+            }
+            default -> throw new RuntimeException("Geçersiz veya süresi dolmuş refresh token");
+        }
+    }
+
+    /**
+     * Pasifleştirilen ya da silinen müşterinin token'ları bellekten kaldırılır; artık yenilenemezler
+     */
+    void onCustomerDeactivated(@Observes(during = TransactionPhase.AFTER_SUCCESS) CustomerDeactivatedEvent event) {
+        if (store != null) {
+            int removed = store.removeCustomer(event.getCustomerId());
+            LOG.debugf("Removed %d refresh tokens of deactivated customer %d", removed, event.getCustomerId());
+        }
+    }
+
+    @Scheduled(every = "1s", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void expire() {
+        if (store != null) {
+            store.expire(System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(every = "{bookstore.refresh-token.flush-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFlush() {
+        flush();
+    }
+
+    @Scheduled(every = "{bookstore.refresh-token.purge-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeExpired() {
+        try {
+            long deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                LOG.debugf("Purged %d expired refresh tokens", deleted);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Could not purge expired refresh tokens", e);
+        }
+    }
+
+    /**
+     * Bekleyen yazımları max-batch boyutunda parçalar halinde uygular
+     */
+    synchronized void flush() {
+        int dropped = droppedSinceFlush.getAndSet(0);
+        if (dropped > 0) {
+            LOG.warnf("Dropped %d refresh token changes because the write queue was full", dropped);
+        }
+        while (true) {
+            List<Op> batch = new ArrayList<>(failedBatch);
+            failedBatch.clear();
+            Op op;
+            while (batch.size() < maxBatch && (op = pendingWrites.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(op);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                apply(batch);
+            } catch (RuntimeException e) {
+                if (isConstraintViolation(e) && applyOneByOne(batch)) {
+                    continue;
+                }
+                // Bir sonraki denemede aynı sırayla tekrar yazılır
+                failedBatch.addAll(batch);
+                LOG.errorf(e, "Could not write %d refresh token changes", batch.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Kısıt ihlaliyle reddedilen partide eklemeleri tek tek yazar; tek başına da reddedilen ekleme
+     * (ör. bu arada silinen müşteri) atılır, böylece sonraki USED ve REVOKE_FAMILY yazımlarını
+     * engelleyemez. Veritabanına hiç ulaşılamazsa yazılamayanları geri koyup false döner.
+     */
+    private boolean applyOneByOne(List<Op> batch) {
+        List<Op> updates = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Op op = batch.get(i);
+            if (op.type() != OpType.INSERT) {
+                updates.add(op);
+                continue;
+            }
+            try {
+                apply(List.of(op));
+            } catch (RuntimeException e) {
+                if (!isConstraintViolation(e)) {
+                    failedBatch.addAll(updates);
+                    failedBatch.addAll(batch.subList(i, batch.size()));
+                    LOG.errorf(e, "Could not write %d refresh token changes", batch.size());
+                    return false;
+                }
+                droppedWrites.increment();
+                LOG.warnf("Dropped refresh token of customer %d: %s", op.entry().getCustomerId(), e.getMessage());
+            }
+        }
+        if (!updates.isEmpty()) {
+            try {
+                apply(updates);
+            } catch (RuntimeException e) {
+                if (!isConstraintViolation(e)) {
+                    failedBatch.addAll(updates);
+                    LOG.errorf(e, "Could not write %d refresh token changes", updates.size());
+                    return false;
+                }
+                droppedWrites.increment(updates.size());
+                LOG.errorf(e, "Dropped %d refresh token updates", updates.size());
+            }
+        }
+        return true;
+    }
+
+    private void apply(List<Op> batch) {
+        List<RefreshToken> inserts = new ArrayList<>();
+        Map<String, LocalDateTime> used = new LinkedHashMap<>();
+        Map<UUID, LocalDateTime> revoked = new LinkedHashMap<>();
+        for (Op pending : batch) {
+            Entry entry = pending.entry();
+            switch (pending.type()) {
+                case INSERT -> inserts.add(new RefreshToken(entry.getTokenHash(),
+                        UUID.fromString(entry.getFamily().getId()), entry.getCustomerId(),
+                        toLocalDateTime(entry.getExpiresAtMillis()), pending.at()));
+                case USED -> used.putIfAbsent(entry.getTokenHash(), pending.at());
+                case REVOKE_FAMILY -> revoked.putIfAbsent(UUID.fromString(entry.getFamily().getId()), pending.at());
+            }
+        }
+        refreshTokenRepository.applyChanges(inserts, used, revoked);
+    }
+
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String issue(Family family, Long customerId, String username, String email, Set<String> roles) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = BASE64_URL.encodeToString(bytes);
+
+        Entry entry = new Entry(hash(token), family, customerId, username, email, roles,
+                System.currentTimeMillis() + ttl.toMillis());
+        store.put(entry);
+        enqueue(new Op(OpType.INSERT, entry, LocalDateTime.now()));
+        return token;
+    }
+
+    private void enqueue(Op op) {
+        if (op.type() != OpType.REVOKE_FAMILY && pendingCount.get() >= maxPending) {
+            // Bellekteki durum doğru kalır; yalnızca yeniden başlatmada bu değişiklik kaybolur
+            droppedSinceFlush.incrementAndGet();
+            droppedWrites.increment();
+            return;
+        }
+        pendingWrites.add(op);
+        pendingCount.incrementAndGet();
+    }
+
+    /**
+     * Açılışta süresi dolmamış token'ları belleğe yükler
+     */
+    private void load() {
+        List<Object[]> rows = QuarkusTransaction.requiringNew()
+                .call(() -> refreshTokenRepository.findUnexpiredWithOwner(LocalDateTime.now()));
+
+        Map<String, Family> families = new HashMap<>();
+        for (Object[] row : rows) {
+            String familyId = row[1].toString();
+            Family family = families.computeIfAbsent(familyId, Family::new);
+            if (row[8] != null) {
+                family.revoke();
+            }
+            String roleNames = (String) row[5];
+            Set<String> roles = roleNames == null ? Set.of() : Set.of(roleNames.split(","));
+            store.put(new Entry(
+                    ((String) row[0]).trim(),
+                    family,
+                    ((Number) row[2]).longValue(),
+                    (String) row[3],
+                    (String) row[4],
+                    roles,
+                    toEpochMillis(row[6]),
+                    row[7] == null ? State.ACTIVE : State.USED));
+        }
+        LOG.infof("Loaded %d refresh tokens", rows.size());
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(Object value) {
+        LocalDateTime dateTime = value instanceof Timestamp timestamp
+                ? timestamp.toLocalDateTime()
+                : (LocalDateTime) value;
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
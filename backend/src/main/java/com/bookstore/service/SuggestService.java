@@ -0,0 +1,113 @@
+package com.bookstore.service;
+
+import com.bookstore.dto.SuggestionDTO;
+import com.bookstore.event.CatalogChangedEvent;
+import com.bookstore.search.SuggestIndex;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Başlık, yazar ve tür önerileri. Popülerlik order_items'taki satış adedinden gelir;
+ * yazar ve türler kitaplarının toplamını alır. İndeks katalog değişikliklerinde ve
+ * satışları yansıtmak için belirli aralıklarla yeniden kurulur.
+ */
+@ApplicationScoped
+public class SuggestService {
+
+    private static final Logger LOG = Logger.getLogger(SuggestService.class);
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggest-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile SuggestIndex index;
+
+    void onStart(@Observes StartupEvent event) {
+        scheduleRebuild();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Önekle başlayan en popüler önerileri döner; indeks henüz hazır değilse boş liste
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        SuggestIndex current = index;
+        return current == null ? List.of() : current.suggest(prefix, limit);
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    @Scheduled(every = "{bookstore.suggest.refresh-interval}", delayed = "{bookstore.suggest.refresh-interval}")
+    void refreshPopularity() {
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+        try {
+            long start = System.nanoTime();
+            SuggestIndex built = QuarkusTransaction.requiringNew().call(() -> {
+                List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT b.book_id, b.title, a.first_name || ' ' || a.last_name, g.name,
+                               COALESCE(s.sold, 0)
+                        FROM books b
+                        LEFT JOIN authors a ON a.author_id = b.author_id
+                        LEFT JOIN genres g ON g.genre_id = b.genre_id
+                        LEFT JOIN (
+                            SELECT book_id, SUM(quantity) AS sold
+                            FROM order_items
+                            GROUP BY book_id
+                        ) s ON s.book_id = b.book_id
+                        """)
+                        .getResultList();
+
+                SuggestIndex.Builder indexBuilder = SuggestIndex.builder();
+                for (Object[] row : rows) {
+                    long sold = ((Number) row[4]).longValue();
+                    indexBuilder.addTitle((String) row[1], ((Number) row[0]).longValue(), sold)
+                            .addAuthor((String) row[2], sold)
+                            .addGenre((String) row[3], sold);
+                }
+                return indexBuilder.build();
+            });
+            index = built;
+            LOG.debugf("Suggest index built with %d entries in %d ms", built.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOG.error("Suggest index could not be built", e);
+        }
+    }
+}
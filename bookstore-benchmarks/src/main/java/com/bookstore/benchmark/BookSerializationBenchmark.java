@@ -0,0 +1,90 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.repository.BookQueries;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kitap listelerinin veritabanından okunması, BookDTO'ya dönüştürülmesi ve JSON'a yazılması
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int books;
+
+    private List<Object[]> rows;
+    private List<BookDTO> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() throws SQLException {
+        try (Connection connection = SeededCatalog.open(books)) {
+            rows = SeededCatalog.rows(connection, books);
+        }
+        dtos = toDTOs(rows);
+        // Quarkus'un varsayılan ObjectMapper ayarları
+        objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    }
+
+    /**
+     * Okunmuş satırlardan BookDTO üretimi (tarih ve sayı dönüşümleri dahil)
+     */
+    @Benchmark
+    public List<BookDTO> construct() {
+        return toDTOs(rows);
+    }
+
+    /**
+     * Sorgu, satır okuma ve dönüşüm; katalog listeleme isteğinin veritabanı tarafı
+     */
+    @Benchmark
+    public List<BookDTO> load() throws SQLException {
+        try (Connection connection = SeededCatalog.open(books)) {
+            return toDTOs(SeededCatalog.rows(connection, books));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    private static List<BookDTO> toDTOs(List<Object[]> rows) {
+        List<BookDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(BookQueries.toBookDTO(row));
+        }
+        return result;
+    }
+}
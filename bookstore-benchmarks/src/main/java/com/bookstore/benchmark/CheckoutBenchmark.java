@@ -0,0 +1,171 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.entity.Author;
+import com.bookstore.entity.Book;
+import com.bookstore.entity.Genre;
+import com.bookstore.entity.Order;
+import com.bookstore.entity.OrderItem;
+import com.bookstore.entity.Publisher;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sipariş kaydının veritabanı yazma maliyeti (saniyede sipariş).
+ *
+ * CheckoutService.persistOrder'daki gibi bir Order ve satırları tek transaction'da persist
+ * edilir; kitaplar yüklenmez, yalnızca referans olarak bağlanır. {@code batchSize=1} JDBC
+ * batch'i kapatır, {@code 50} backend'in statement-batch-size ayarıdır. Sipariş tabloları her
+ * zaman gömülü H2'de oluşturulur; {@code bench.jdbc.url} bu benchmark'ta kullanılmaz, böylece
+ * yerel veritabanına sipariş yazılmaz.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    private static final int BOOKS = 10_000;
+    private static final long CUSTOMER_ID = 1L;
+
+    @Param({"1", "10", "50"})
+    int lines;
+
+    @Param({"1", "50"})
+    int batchSize;
+
+    private Connection connection;
+    private SessionFactory sessionFactory;
+    private long[] bookIds;
+    private BigDecimal[] prices;
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = SeededCatalog.openEmbedded(BOOKS);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS orders_order_id_seq START WITH 1 INCREMENT BY 50");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS order_items_order_item_id_seq START WITH 1 INCREMENT BY 50");
+            statement.execute("""
+                CREATE TABLE IF NOT EXISTS orders (
+                    order_id BIGINT PRIMARY KEY,
+                    customer_id BIGINT NOT NULL,
+                    order_date TIMESTAMP,
+                    total_price DECIMAL(10,2) NOT NULL,
+                    status VARCHAR(20),
+                    shipping_address TEXT,
+                    payment_method VARCHAR(50),
+                    created_at TIMESTAMP
+                )""");
+            statement.execute("""
+                CREATE TABLE IF NOT EXISTS order_items (
+                    order_item_id BIGINT PRIMARY KEY,
+                    order_id BIGINT NOT NULL REFERENCES orders(order_id),
+                    book_id INTEGER NOT NULL REFERENCES books(book_id),
+                    quantity INTEGER NOT NULL,
+                    unit_price DECIMAL(10,2) NOT NULL,
+                    total_price DECIMAL(10,2) NOT NULL,
+                    created_at TIMESTAMP
+                )""");
+        }
+
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Order.class)
+            .addAnnotatedClass(OrderItem.class)
+            .addAnnotatedClass(Book.class)
+            .addAnnotatedClass(Author.class)
+            .addAnnotatedClass(Genre.class)
+            .addAnnotatedClass(Publisher.class)
+            .setProperty(AvailableSettings.URL, SeededCatalog.embeddedUrl(BOOKS))
+            .setProperty(AvailableSettings.USER, "sa")
+            .setProperty(AvailableSettings.PASS, "")
+            .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+            .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+            .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+            .buildSessionFactory();
+
+        Random random = new Random(SeededCatalog.SEED);
+        bookIds = new long[1024];
+        prices = new BigDecimal[bookIds.length];
+        for (int i = 0; i < bookIds.length; i++) {
+            bookIds[i] = 1 + random.nextInt(BOOKS);
+            prices[i] = BigDecimal.valueOf(499 + random.nextInt(4500), 2);
+        }
+    }
+
+    /**
+     * Tabloların büyümesi sonraki iterasyonları yavaşlatmasın diye siparişler silinir
+     */
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM order_items");
+            statement.execute("DELETE FROM orders");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public Long placeOrder() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            LocalDateTime now = LocalDateTime.now();
+            Order order = new Order();
+            order.customerId = CUSTOMER_ID;
+            order.orderDate = now;
+            order.createdAt = now;
+            order.status = "pending";
+            order.shippingAddress = "Benchmark Street 1";
+            order.paymentMethod = "credit_card";
+
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < lines; i++) {
+                int line = next = (next + 1) & (bookIds.length - 1);
+                OrderItem item = new OrderItem();
+                item.order = order;
+                item.book = session.getReference(Book.class, bookIds[line]);
+                item.quantity = 1 + (line & 3);
+                item.unitPrice = prices[line];
+                item.totalPrice = item.unitPrice.multiply(BigDecimal.valueOf(item.quantity));
+                item.createdAt = now;
+                order.items.add(item);
+                total = total.add(item.totalPrice);
+            }
+            order.totalPrice = total;
+
+            session.persist(order);
+            session.getTransaction().commit();
+            return order.id;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookstore.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * İki JMH JSON sonucunu ({@code -rf json}) karşılaştırır.
+ *
+ * Benchmark adı ve parametreleri aynı olan satırlar eşleştirilir. Fark, iki ölçümün %99.9 güven
+ * aralıkları örtüşmüyorsa anlamlı sayılır ve işaretlenir; örtüşüyorsa gürültü kabul edilir.
+ *
+ * <pre>
+ * java -cp bookstore-benchmarks/target/benchmarks.jar com.bookstore.benchmark.CompareResults base.json new.json
+ * </pre>
+ */
+public final class CompareResults {
+
+    private record Score(double value, double error, String unit) {}
+
+    private CompareResults() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s %s%n", "Benchmark", "Baseline", "Current", "Change", "Unit");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s %s%n", entry.getKey(), "-", now.value(), "new", now.unit());
+                continue;
+            }
+            double change = (now.value() - before.value()) / before.value() * 100;
+            boolean significant = Math.abs(now.value() - before.value()) > before.error() + now.error();
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), before.value(), now.value(),
+                change, now.unit(), significant ? "  *" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-70s %14.3f %14s %9s%n", key, baseline.get(key).value(), "-", "removed");
+            }
+        }
+    }
+
+    private static Map<String, Score> read(Path path) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(path.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText().replace("com.bookstore.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble();
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
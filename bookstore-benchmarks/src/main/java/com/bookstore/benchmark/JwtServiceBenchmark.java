@@ -0,0 +1,55 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.security.JwtClaims;
+import com.bookstore.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService} ile RS256 token üretimi ve doğrulaması; 2048 bit geçici bir anahtarla
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final Set<String> ROLES = Set.of("USER", "ADMIN");
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        // Her çalıştırmada atılacak bir anahtar üretilir; uygulamanın anahtarına ihtiyaç yoktur
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        jwtService = JwtService.create(generator.generateKeyPair().getPrivate(), "bookstore");
+        token = generate();
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateAccessToken(42L, "benchmark", "benchmark@example.com", ROLES);
+    }
+
+    @Benchmark
+    public JwtClaims verify() {
+        return jwtService.verify(token);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.service.PasswordService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PasswordService} hash/doğrulama ve şifre güçlülüğü kontrolü.
+ *
+ * Servis CDI olmadan {@link PasswordService#create} ile kurulur. Hash ve doğrulama, uygulamadaki
+ * gibi ayrılmış hashleme havuzundan geçer. Maliyet sabitlenir, böylece sonuçlar başlangıç
+ * kalibrasyonuna bağlı olmaz.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordServiceBenchmark {
+
+    private static final String PASSWORD = "Benchmark123!";
+    private static final String[] CANDIDATES = {
+        "Benchmark123!", "benchmark", "Short1!", "NoDigitsHere!", "alllowercase123!", "Ab1!" + "x".repeat(60)
+    };
+
+    @Param({"10", "12"})
+    int cost;
+
+    private PasswordService passwordService;
+    private String hashed;
+
+    @Setup
+    public void setup() {
+        passwordService = PasswordService.create(new SimpleMeterRegistry(), cost, 0, Duration.ofSeconds(30));
+        hashed = passwordService.hashPassword(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordService.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String hash() {
+        return passwordService.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean verify() {
+        return passwordService.verifyPassword(PASSWORD, hashed);
+    }
+
+    /**
+     * Maliyetten bağımsızdır; her {@code cost} değeri için aynı sonucu vermelidir
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void isPasswordStrong(Blackhole blackhole) {
+        for (String candidate : CANDIDATES) {
+            blackhole.consume(passwordService.isPasswordStrong(candidate));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.search.InvertedIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seed'lenmiş katalog üzerinde {@link InvertedIndex} arama yolları.
+ *
+ * Sorgular katalogdaki başlıklardan sabit tohumla seçilir: tam kelimeler, kesilmiş son kelime
+ * (önek eşleşmesi) ve bir harfi değiştirilmiş kelimeler (bulanık eşleşme). Her çağrı sıradaki
+ * sorguyu kullanır, böylece tek bir sorgunun önbellekte kalması ölçümü çarpıtmaz.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int QUERIES = 256;
+    private static final int LIMIT = 20;
+    // BookSearchService'teki bookstore.search.fuzzy.budget varsayılanı
+    private static final long FUZZY_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Param({"10000", "100000"})
+    int books;
+
+    private InvertedIndex index;
+    private String[] exactQueries;
+    private String[] prefixQueries;
+    private String[] typoQueries;
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        List<BookDTO> catalog = SeededCatalog.books(books);
+        index = new InvertedIndex(catalog);
+
+        Random random = new Random(SeededCatalog.SEED);
+        exactQueries = new String[QUERIES];
+        prefixQueries = new String[QUERIES];
+        typoQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String[] words = catalog.get(random.nextInt(catalog.size())).title.split(" ");
+            int first = random.nextInt(words.length);
+            String word = words[first];
+            String other = words[(first + 1) % words.length];
+            exactQueries[i] = word + " " + other;
+            prefixQueries[i] = other + " " + word.substring(0, Math.max(2, word.length() / 2));
+            typoQueries[i] = typo(random, word);
+        }
+    }
+
+    @Benchmark
+    public List<BookDTO> exact() {
+        return index.search(exactQueries[nextQuery()], LIMIT);
+    }
+
+    @Benchmark
+    public List<BookDTO> prefix() {
+        return index.search(prefixQueries[nextQuery()], LIMIT);
+    }
+
+    @Benchmark
+    public InvertedIndex.FuzzyResult fuzzy() {
+        return index.searchFuzzy(typoQueries[nextQuery()], LIMIT, FUZZY_BUDGET_NANOS);
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    /**
+     * Kelimenin ilk harfi dışında rastgele bir harfini değiştirir
+     */
+    private static String typo(Random random, String word) {
+        char[] chars = word.toLowerCase().toCharArray();
+        int position = 1 + random.nextInt(chars.length - 1);
+        char replacement;
+        do {
+            replacement = (char) ('a' + random.nextInt(26));
+        } while (replacement == chars[position]);
+        chars[position] = replacement;
+        return new String(chars);
+    }
+}
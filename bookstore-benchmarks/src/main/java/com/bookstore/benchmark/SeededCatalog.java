@@ -0,0 +1,253 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.repository.BookQueries;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark'lar için kitap kataloğu sağlar.
+ *
+ * Varsayılan olarak PostgreSQL uyumluluk modunda bellek içi bir H2 veritabanı açılır ve sabit
+ * tohumla üretilen katalog yüklenir; aynı boyut her çalıştırmada aynı kitapları verir, böylece
+ * farklı commit'lerin sonuçları karşılaştırılabilir. {@code bench.jdbc.url} verilirse (örneğin
+ * docker-compose ile açılan yerel PostgreSQL) mevcut katalog okunur, veritabanına yazılmaz.
+ * Satırlar backend'in kullandığı {@link BookQueries#BOOK_ROW_SELECT} sorgusuyla okunur.
+ */
+public final class SeededCatalog {
+
+    public static final long SEED = 42L;
+
+    private static final String JDBC_URL = System.getProperty("bench.jdbc.url");
+    private static final String JDBC_USER = System.getProperty("bench.jdbc.user", "bookstore_user");
+    private static final String JDBC_PASSWORD = System.getProperty("bench.jdbc.password", "bookstore_password");
+    private static final String EMBEDDED_URL = "jdbc:h2:mem:bookstore-%d;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int PUBLISHERS = 200;
+    private static final int BOOKS_PER_AUTHOR = 20;
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final String[] GENRES = {
+        "Fantasy", "Dystopian Fiction", "Classic Literature", "Romance", "Adventure", "Historical Fiction",
+        "Mystery", "Science Fiction", "Biography", "Poetry", "Horror", "Philosophy"
+    };
+    private static final String[] FORMATS = {"physical", "e-book", "audiobook"};
+    private static final String[] SYLLABLES = {
+        "an", "bel", "cor", "dra", "el", "fen", "gar", "hol", "is", "jor", "kal", "lin", "mor", "nes",
+        "or", "pel", "quin", "ros", "sar", "tor", "ul", "ven", "wil", "xan", "yor", "zel", "ka", "mi",
+        "to", "ra", "shi", "pho", "dar", "lo", "the", "ar", "ion", "ma", "ri", "sta"
+    };
+    private static final LocalDate FIRST_PUBLICATION = LocalDate.of(1950, 1, 1);
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private SeededCatalog() {}
+
+    /**
+     * Katalog veritabanına bağlantı açar; gömülü veritabanı ilk açılışta {@code books} kitapla doldurulur
+     */
+    public static Connection open(int books) throws SQLException {
+        if (JDBC_URL != null) {
+            return DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD);
+        }
+        return openEmbedded(books);
+    }
+
+    /**
+     * {@code bench.jdbc.url}'den bağımsız olarak her zaman gömülü veritabanına bağlanır; veritabanına
+     * yazan benchmark'lar bunu kullanır
+     */
+    public static Connection openEmbedded(int books) throws SQLException {
+        Connection connection = DriverManager.getConnection(embeddedUrl(books), "sa", "");
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, "BOOKS", null)) {
+            if (!tables.next()) {
+                seed(connection, books);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * {@code books} kitaplık gömülü veritabanının JDBC adresi
+     */
+    public static String embeddedUrl(int books) {
+        return EMBEDDED_URL.formatted(books);
+    }
+
+    /**
+     * En fazla {@code limit} kitabın ham satırlarını id sırasıyla okur
+     */
+    public static List<Object[]> rows(Connection connection, int limit) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(limit);
+        try (PreparedStatement statement = connection.prepareStatement(
+                BookQueries.BOOK_ROW_SELECT + " ORDER BY b.book_id LIMIT ?")) {
+            statement.setInt(1, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    Object[] row = new Object[columns];
+                    for (int i = 0; i < columns; i++) {
+                        row[i] = resultSet.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * En fazla {@code limit} kitabı BookDTO olarak yükler
+     */
+    public static List<BookDTO> books(int limit) throws SQLException {
+        try (Connection connection = open(limit)) {
+            List<Object[]> rows = rows(connection, limit);
+            List<BookDTO> books = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                books.add(BookQueries.toBookDTO(row));
+            }
+            return books;
+        }
+    }
+
+    /**
+     * init.sql'deki katalog tablolarının sadeleştirilmiş halini oluşturup sabit tohumla doldurur
+     */
+    private static void seed(Connection connection, int books) throws SQLException {
+        Random random = new Random(SEED);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random, 2 + random.nextInt(2));
+        }
+        int authors = Math.max(1, books / BOOKS_PER_AUTHOR);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                CREATE TABLE publishers (
+                    publisher_id INTEGER PRIMARY KEY,
+                    name VARCHAR(255) NOT NULL
+                )""");
+            statement.execute("""
+                CREATE TABLE authors (
+                    author_id INTEGER PRIMARY KEY,
+                    first_name VARCHAR(100) NOT NULL,
+                    last_name VARCHAR(100) NOT NULL
+                )""");
+            statement.execute("""
+                CREATE TABLE genres (
+                    genre_id INTEGER PRIMARY KEY,
+                    name VARCHAR(100) NOT NULL UNIQUE
+                )""");
+            statement.execute("""
+                CREATE TABLE books (
+                    book_id INTEGER PRIMARY KEY,
+                    title VARCHAR(255) NOT NULL,
+                    isbn VARCHAR(13) UNIQUE,
+                    author_id INTEGER REFERENCES authors(author_id),
+                    publisher_id INTEGER REFERENCES publishers(publisher_id),
+                    genre_id INTEGER REFERENCES genres(genre_id),
+                    publication_date DATE,
+                    price DECIMAL(10,2) NOT NULL,
+                    format VARCHAR(20) NOT NULL,
+                    description TEXT,
+                    cover_image_url VARCHAR(500),
+                    created_at TIMESTAMP
+                )""");
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO publishers (publisher_id, name) VALUES (?, ?)")) {
+            for (int i = 1; i <= PUBLISHERS; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, capitalize(word(random, 2)) + " Press");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO authors (author_id, first_name, last_name) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= authors; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, capitalize(word(random, 2)));
+                insert.setString(3, capitalize(word(random, 3)));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO genres (genre_id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < GENRES.length; i++) {
+                insert.setInt(1, i + 1);
+                insert.setString(2, GENRES[i]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO books (book_id, title, isbn, author_id, publisher_id, genre_id, publication_date,
+                                   price, format, description, cover_image_url, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""")) {
+            for (int i = 1; i <= books; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, sentence(random, vocabulary, 2 + random.nextInt(4), true));
+                insert.setString(3, String.valueOf(9780000000000L + i));
+                insert.setInt(4, 1 + random.nextInt(authors));
+                insert.setInt(5, 1 + random.nextInt(PUBLISHERS));
+                insert.setInt(6, 1 + random.nextInt(GENRES.length));
+                insert.setDate(7, Date.valueOf(FIRST_PUBLICATION.plusDays(random.nextInt(27_000))));
+                insert.setBigDecimal(8, BigDecimal.valueOf(499 + random.nextInt(4500), 2));
+                insert.setString(9, FORMATS[random.nextInt(FORMATS.length)]);
+                insert.setString(10, sentence(random, vocabulary, 15 + random.nextInt(20), false) + ".");
+                insert.setString(11, "https://images.example.com/book-" + i + ".jpg");
+                insert.setTimestamp(12, Timestamp.valueOf(FIRST_CREATED_AT.plusMinutes(i)));
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static String sentence(Random random, String[] vocabulary, int words, boolean title) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            String word = vocabulary[random.nextInt(vocabulary.length)];
+            sentence.append(title || i == 0 ? capitalize(word) : word);
+        }
+        return sentence.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bookstore.benchmark;
+
+import com.bookstore.dto.BookDTO;
+import com.bookstore.dto.SuggestionDTO;
+import com.bookstore.search.SuggestIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seed'lenmiş katalogdan kurulan {@link SuggestIndex} üzerinde öneri gecikmesi.
+ *
+ * SampleTime modunda çalışır; JMH tek tek çağrıların sürelerini örnekleyip p50, p99 ve p99.9
+ * yüzdeliklerini raporlar. Satış sayıları çarpık dağılır, böylece popülerlik sıralaması gerçek
+ * kataloğa benzer. Kısa önekler (1-2 harf) en geniş aralıkları, kelime önekleri (3-5 harf) tipik
+ * yazma sırasındaki sorguları temsil eder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestBenchmark {
+
+    private static final int PREFIXES = 256;
+    // BookResource'taki varsayılan öneri sayısı
+    private static final int LIMIT = 8;
+
+    @Param({"10000", "100000"})
+    int books;
+
+    private SuggestIndex index;
+    private String[] shortPrefixes;
+    private String[] wordPrefixes;
+    private int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        List<BookDTO> catalog = SeededCatalog.books(books);
+        Random random = new Random(SeededCatalog.SEED);
+
+        SuggestIndex.Builder builder = SuggestIndex.builder();
+        for (BookDTO book : catalog) {
+            // Az sayıda kitap çok satar, çoğu hiç satmaz
+            long sold = (long) (Math.pow(random.nextDouble(), 8) * 10_000);
+            builder.addTitle(book.title, book.bookId, sold)
+                .addAuthor(book.authorName, sold)
+                .addGenre(book.genreName, sold);
+        }
+        index = builder.build();
+
+        shortPrefixes = new String[PREFIXES];
+        wordPrefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            BookDTO book = catalog.get(random.nextInt(catalog.size()));
+            String source = random.nextBoolean() ? book.title : book.authorName;
+            String[] words = source.toLowerCase().split(" ");
+            String word = words[random.nextInt(words.length)];
+            shortPrefixes[i] = word.substring(0, Math.min(word.length(), 1 + random.nextInt(2)));
+            wordPrefixes[i] = word.substring(0, Math.min(word.length(), 3 + random.nextInt(3)));
+        }
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> shortPrefix() {
+        return index.suggest(shortPrefixes[nextPrefix()], LIMIT);
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> wordPrefix() {
+        return index.suggest(wordPrefixes[nextPrefix()], LIMIT);
+    }
+
+    private int nextPrefix() {
+        next = (next + 1) & (PREFIXES - 1);
+        return next;
+    }
+}
@@ -40,7 +40,8 @@ CREATE TABLE books (
     format VARCHAR(20) NOT NULL CHECK (format IN ('physical', 'e-book', 'audiobook')),
     description TEXT,
     cover_image_url VARCHAR(500),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    search_vector TSVECTOR
 );
 
 CREATE TABLE inventory (
@@ -112,19 +113,88 @@ CREATE TABLE shopping_cart (
     UNIQUE(customer_id, book_id)
 );
 
+-- Refresh tokens: only the SHA-256 hash of the opaque token is stored.
+-- Tokens rotated from the same login share a family_id.
+CREATE TABLE refresh_tokens (
+    token_hash CHAR(64) PRIMARY KEY,
+    family_id UUID NOT NULL,
+    customer_id INTEGER NOT NULL REFERENCES customers(customer_id) ON DELETE CASCADE,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create indexes for better performance
-CREATE INDEX idx_books_title ON books(title);
+-- Keyset pagination of the catalog: ORDER BY title, book_id
+CREATE INDEX idx_books_title_id ON books(title, book_id);
 CREATE INDEX idx_books_author_id ON books(author_id);
 CREATE INDEX idx_books_genre_id ON books(genre_id);
 CREATE INDEX idx_books_format ON books(format);
 CREATE INDEX idx_books_isbn ON books(isbn);
-CREATE INDEX idx_orders_customer_id ON orders(customer_id);
+-- Order ids are allocated by the backend in blocks of 50 (pooled sequence ids allow batched inserts)
+ALTER SEQUENCE orders_order_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_order_item_id_seq INCREMENT BY 50;
+
+-- Serves order history keyset pages (newest first) per customer; also covers lookups by customer_id
+CREATE INDEX idx_orders_customer_date ON orders(customer_id, order_date DESC, order_id DESC);
 CREATE INDEX idx_orders_order_date ON orders(order_date);
 CREATE INDEX idx_order_items_order_id ON order_items(order_id);
-CREATE INDEX idx_inventory_book_id ON inventory(inventory_id);
+-- One stock row per book; also the conflict target of the batched stock writes
+CREATE UNIQUE INDEX idx_inventory_book_id ON inventory(book_id);
 CREATE INDEX idx_customers_email ON customers(email);
 CREATE INDEX idx_customers_username ON customers(username);
 CREATE INDEX idx_authors_last_name ON authors(last_name);
+CREATE INDEX idx_books_search_vector ON books USING GIN (search_vector);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+
+-- Full-text search: books.search_vector covers title (A), author name (B),
+-- genre name (C) and description (D) and is maintained by triggers.
+-- english_unaccent strips accents before stemming, like the in-memory Tokenizer,
+-- so "Garcia Marquez" finds "García Márquez" with either search engine.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE TEXT SEARCH CONFIGURATION english_unaccent (COPY = english);
+ALTER TEXT SEARCH CONFIGURATION english_unaccent
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, english_stem;
+
+CREATE FUNCTION books_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('english_unaccent', coalesce(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('english_unaccent', coalesce((SELECT first_name || ' ' || last_name FROM authors WHERE author_id = NEW.author_id), '')), 'B') ||
+        setweight(to_tsvector('english_unaccent', coalesce((SELECT name FROM genres WHERE genre_id = NEW.genre_id), '')), 'C') ||
+        setweight(to_tsvector('english_unaccent', coalesce(NEW.description, '')), 'D');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_books_search_vector
+    BEFORE INSERT OR UPDATE OF title, description, author_id, genre_id ON books
+    FOR EACH ROW EXECUTE FUNCTION books_search_vector_refresh();
+
+-- Renaming an author or genre re-fires the books trigger for the affected rows
+CREATE FUNCTION authors_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    UPDATE books SET author_id = author_id WHERE author_id = NEW.author_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_authors_search_vector
+    AFTER UPDATE OF first_name, last_name ON authors
+    FOR EACH ROW EXECUTE FUNCTION authors_search_vector_refresh();
+
+CREATE FUNCTION genres_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    UPDATE books SET genre_id = genre_id WHERE genre_id = NEW.genre_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_genres_search_vector
+    AFTER UPDATE OF name ON genres
+    FOR EACH ROW EXECUTE FUNCTION genres_search_vector_refresh();
 
 -- Insert basic roles
 INSERT INTO roles (name, description) VALUES
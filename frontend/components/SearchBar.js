@@ -8,7 +8,8 @@ import { useBookStore } from '../lib/store';
 export default function SearchBar({ onSearch, initialValue = '' }) {
   console.log('SearchBar component render edildi');
   const [query, setQuery] = useState(initialValue);
-  const { searchBooks } = useBookStore();
+  const [suggestions, setSuggestions] = useState([]);
+  const { suggestBooks } = useBookStore();
   const router = useRouter();
   const inputRef = useRef(null);
 
@@ -52,8 +53,43 @@ export default function SearchBar({ onSearch, initialValue = '' }) {
     setTimeout(setInputColor, 50);
   }, [query]);
 
+  // Suggestions are fetched after a short pause in typing
+  useEffect(() => {
+    const prefix = query.trim();
+    if (!prefix || prefix === initialValue) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      const result = await suggestBooks(prefix);
+      if (!cancelled) {
+        setSuggestions(result);
+      }
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [query, initialValue, suggestBooks]);
+
+  const runSearch = (text) => {
+    setSuggestions([]);
+    if (onSearch) {
+      onSearch(text);
+    } else {
+      router.push(`/search?q=${encodeURIComponent(text)}`);
+    }
+  };
+
+  const handleSuggestionClick = (suggestion) => {
+    setQuery(suggestion.text);
+    runSearch(suggestion.text);
+  };
+
   const handleSubmit = (e) => {
     e.preventDefault();
+    setSuggestions([]);
     if (query.trim()) {
       if (onSearch) {
         // Custom search handler varsa onu kullan
@@ -125,6 +161,39 @@ export default function SearchBar({ onSearch, initialValue = '' }) {
           >
             Search
           </button>
+          {suggestions.length > 0 && (
+            <ul style={{
+              position: 'absolute',
+              top: '100%',
+              left: 0,
+              right: 0,
+              marginTop: '4px',
+              backgroundColor: '#ffffff',
+              border: '1px solid #d1d5db',
+              borderRadius: '6px',
+              boxShadow: '0 4px 6px rgba(0, 0, 0, 0.1)',
+              listStyle: 'none',
+              padding: '4px 0',
+              zIndex: 10
+            }}>
+              {suggestions.map((suggestion) => (
+                <li
+                  key={`${suggestion.type}-${suggestion.text}`}
+                  onMouseDown={() => handleSuggestionClick(suggestion)}
+                  style={{
+                    display: 'flex',
+                    justifyContent: 'space-between',
+                    padding: '8px 12px',
+                    cursor: 'pointer',
+                    color: '#111827'
+                  }}
+                >
+                  <span>{suggestion.text}</span>
+                  <span style={{ color: '#9ca3af', fontSize: '12px' }}>{suggestion.type}</span>
+                </li>
+              ))}
+            </ul>
+          )}
         </div>
       </form>
     </div>
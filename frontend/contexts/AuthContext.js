@@ -1,5 +1,6 @@
 import React, { createContext, useContext, useReducer, useEffect } from 'react';
 import axios from 'axios';
+import { useBookStore } from '../lib/store';
 
 // Initial state
 const initialState = {
@@ -71,7 +72,8 @@ const authReducer = (state, action) => {
     case AUTH_ACTIONS.REFRESH_TOKEN:
       return {
         ...state,
-        token: action.payload
+        token: action.payload.token,
+        refreshToken: action.payload.refreshToken
       };
 
     case AUTH_ACTIONS.SET_LOADING:
@@ -122,8 +124,14 @@ export const AuthProvider = ({ children }) => {
               refreshToken: state.refreshToken
             });
             
-            const newToken = refreshResponse.data.accessToken;
-            dispatch({ type: AUTH_ACTIONS.REFRESH_TOKEN, payload: newToken });
+            // Refresh tokens are single-use: keep the rotated one
+            const { accessToken: newToken, refreshToken: newRefreshToken } = refreshResponse.data;
+            dispatch({
+              type: AUTH_ACTIONS.REFRESH_TOKEN,
+              payload: { token: newToken, refreshToken: newRefreshToken }
+            });
+            localStorage.setItem('authToken', newToken);
+            localStorage.setItem('refreshToken', newRefreshToken);
             
             // Retry the original request
             error.config.headers.Authorization = `Bearer ${newToken}`;
@@ -189,6 +197,9 @@ export const AuthProvider = ({ children }) => {
       localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('user', JSON.stringify(customer));
 
+      // Carry the cart built before login over to the server cart, once per login
+      await useBookStore.getState().syncCart();
+
       dispatch({
         type: AUTH_ACTIONS.LOGIN_SUCCESS,
         payload: response.data
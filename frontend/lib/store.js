@@ -10,8 +10,31 @@ const api = axios.create({
   },
 });
 
+// Signed-in customers also keep their cart on the server
+const authHeaders = () => {
+  const token = typeof window !== 'undefined' ? localStorage.getItem('authToken') : null;
+  return token ? { Authorization: `Bearer ${token}` } : null;
+};
+
+// Sends a cart change to the server and adopts the cart it returns
+const saveCart = async (set, request) => {
+  const headers = authHeaders();
+  if (!headers) {
+    return;
+  }
+  try {
+    const response = await request(headers);
+    if (response.data?.items) {
+      set({ cart: response.data.items });
+    }
+  } catch (error) {
+    console.error('Error saving cart:', error);
+  }
+};
+
 export const useBookStore = create((set, get) => ({
   books: [],
+  nextCursor: null,
   authors: [],
   genres: [],
   loading: false,
@@ -24,7 +47,7 @@ export const useBookStore = create((set, get) => ({
     set({ loading: true, error: null });
     try {
       const response = await api.get('/api/books', { params });
-      set({ books: response.data, loading: false });
+      set({ books: response.data.items, nextCursor: response.data.next, loading: false });
     } catch (error) {
       const errorMessage = error.response?.data?.error || error.message || 'Failed to fetch books';
       set({ error: errorMessage, loading: false });
@@ -45,6 +68,17 @@ export const useBookStore = create((set, get) => ({
     }
   },
 
+  // Typeahead suggestions; does not touch the shared loading/error state
+  suggestBooks: async (prefix, limit = 8) => {
+    try {
+      const response = await api.get('/api/books/suggest', { params: { prefix, limit } });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching suggestions:', error);
+      return [];
+    }
+  },
+
   // Get book by ID
   getBookById: async (id) => {
     set({ loading: true, error: null });
@@ -60,12 +94,59 @@ export const useBookStore = create((set, get) => ({
     }
   },
 
-  // Get bestsellers (using first 5 books for now)
-  getBestsellers: async (limit = 5) => {
+  // Resolve many books in one request; long lists go in the body
+  getBooksByIds: async (ids) => {
+    if (ids.length === 0) {
+      return { items: [], missing: [] };
+    }
+    try {
+      const response = ids.length > 100
+        ? await api.post('/api/books/batch', ids)
+        : await api.get('/api/books/batch', { params: { ids: ids.join(',') } });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching books:', error);
+      return null;
+    }
+  },
+
+  // Refresh cart items with current book details and drop books that no longer exist
+  refreshCart: async () => {
+    const ids = get().cart.map(item => item.bookId);
+    const result = await get().getBooksByIds(ids);
+    if (!result) {
+      return;
+    }
+    const byId = new Map(result.items.map(book => [book.bookId, book]));
+    set({
+      cart: get().cart
+        .filter(item => byId.has(item.bookId))
+        .map(item => ({ ...byId.get(item.bookId), quantity: item.quantity }))
+    });
+  },
+
+  // "Customers who bought this also bought"; does not touch the shared loading/error state
+  getRecommendations: async (bookId, limit = 10) => {
+    try {
+      const response = await api.get(`/api/books/${bookId}/recommendations`, { params: { limit } });
+      return response.data.map(entry => ({ ...entry.book, boughtTogether: entry.boughtTogether }));
+    } catch (error) {
+      console.error('Error fetching recommendations:', error);
+      return [];
+    }
+  },
+
+  // Get bestsellers of the last week, optionally for one genre
+  getBestsellers: async (limit = 5, genre = null) => {
     set({ loading: true, error: null });
     try {
-      const response = await api.get('/api/books');
-      const bestsellers = response.data.slice(0, limit);
+      const response = await api.get('/api/books/bestsellers', { params: { limit, genre } });
+      let bestsellers = response.data.map(entry => ({ ...entry.book, sold: entry.sold, rank: entry.rank }));
+      if (bestsellers.length === 0 && !genre) {
+        // No sales in the window yet: show the first books of the catalog instead
+        const fallback = await api.get('/api/books', { params: { limit } });
+        bestsellers = fallback.data.items;
+      }
       set({ loading: false });
       return bestsellers;
     } catch (error) {
@@ -113,6 +194,17 @@ export const useBookStore = create((set, get) => ({
   },
 
   // Cart operations
+  // Adopt the server cart; it is the source of truth for signed-in customers
+  fetchCart: async () => {
+    await saveCart(set, (headers) => api.get('/api/cart', { headers }));
+  },
+
+  // Merge the local cart into the server cart once after login and adopt the result
+  syncCart: async () => {
+    const items = get().cart.map(item => ({ bookId: item.bookId, quantity: item.quantity }));
+    await saveCart(set, (headers) => api.post('/api/cart/sync', { items }, { headers }));
+  },
+
   addToCart: (book, quantity = 1) => {
     const { cart } = get();
     const existingItem = cart.find(item => item.bookId === book.bookId);
@@ -130,6 +222,7 @@ export const useBookStore = create((set, get) => ({
         cart: [...cart, { ...book, quantity }]
       });
     }
+    saveCart(set, (headers) => api.post('/api/cart/items', { bookId: book.bookId, quantity }, { headers }));
   },
 
   removeFromCart: (bookId) => {
@@ -137,6 +230,7 @@ export const useBookStore = create((set, get) => ({
     set({
       cart: cart.filter(item => item.bookId !== bookId)
     });
+    saveCart(set, (headers) => api.delete(`/api/cart/items/${bookId}`, { headers }));
   },
 
   updateCartQuantity: (bookId, quantity) => {
@@ -151,11 +245,38 @@ export const useBookStore = create((set, get) => ({
             : item
         )
       });
+      saveCart(set, (headers) => api.put(`/api/cart/items/${bookId}`, { quantity }, { headers }));
     }
   },
 
   clearCart: () => {
     set({ cart: [] });
+    const headers = authHeaders();
+    if (headers) {
+      api.delete('/api/cart', { headers }).catch(error => console.error('Error clearing cart:', error));
+    }
+  },
+
+  // Place an order from the server cart. The key is reused when the same attempt is retried,
+  // so a retry after a timeout cannot create a second order.
+  checkout: async (details = {}, idempotencyKey = crypto.randomUUID()) => {
+    const headers = authHeaders();
+    if (!headers) {
+      return { success: false, error: 'Login required' };
+    }
+    set({ loading: true, error: null });
+    try {
+      const response = await api.post('/api/checkout', details, {
+        headers: { ...headers, 'Idempotency-Key': idempotencyKey }
+      });
+      set({ cart: [], loading: false });
+      return { success: true, order: response.data };
+    } catch (error) {
+      const errorMessage = error.response?.data?.error || error.message || 'Failed to place order';
+      set({ error: errorMessage, loading: false });
+      console.error('Error placing order:', error);
+      return { success: false, error: errorMessage, idempotencyKey };
+    }
   },
 
   getCartTotal: () => {
@@ -3,27 +3,60 @@
 import { useBookStore } from '../lib/store';
 import { useAuth } from '../contexts/AuthContext';
 import { useRouter } from 'next/router';
-import { useEffect } from 'react';
+import { useEffect, useRef, useState } from 'react';
 import CartItem from '../components/CartItem';
 import Header from '../components/Header';
 import Link from 'next/link';
 import { ShoppingBagIcon, ArrowLeftIcon } from '@heroicons/react/24/outline';
 
 export default function Cart() {
-  const { cart, getCartTotal, getCartItemCount, clearCart } = useBookStore();
+  const { cart, getCartTotal, getCartItemCount, clearCart, refreshCart, fetchCart, checkout } = useBookStore();
   const { isAuthenticated } = useAuth();
   const router = useRouter();
+  // One key per checkout attempt: kept across retries until an order is placed
+  const [checkoutKey, setCheckoutKey] = useState(null);
+  const [placingOrder, setPlacingOrder] = useState(false);
+  const placingOrderRef = useRef(false);
+
+  // Prices and availability may have changed since the books were added;
+  // signed-in customers see the server cart, which was merged with the local one at login
+  useEffect(() => {
+    if (isAuthenticated) {
+      fetchCart();
+    } else {
+      refreshCart();
+    }
+  }, [isAuthenticated, refreshCart, fetchCart]);
 
   const total = getCartTotal();
   const itemCount = getCartItemCount();
 
-  const handleCheckout = () => {
+  const handleCheckout = async () => {
     if (!isAuthenticated) {
       router.push('/login');
       return;
     }
-    // TODO: Implement checkout logic
-    alert('Checkout functionality will be implemented soon!');
+    if (placingOrderRef.current) {
+      return;
+    }
+    placingOrderRef.current = true;
+    setPlacingOrder(true);
+    const key = checkoutKey ?? crypto.randomUUID();
+    setCheckoutKey(key);
+    try {
+      const result = await checkout({}, key);
+      if (result.success) {
+        setCheckoutKey(null);
+        alert(`Order #${result.order.orderId} placed!`);
+        router.push('/');
+      } else {
+        setCheckoutKey(result.idempotencyKey ?? key);
+        alert(result.error);
+      }
+    } finally {
+      placingOrderRef.current = false;
+      setPlacingOrder(false);
+    }
   };
 
   const handleClearCart = () => {
@@ -130,9 +163,10 @@ export default function Cart() {
                   
                   <button
                     onClick={handleCheckout}
-                    className="w-full bg-primary-600 text-white py-3 px-4 rounded-md font-medium hover:bg-primary-700 transition-colors focus:outline-none focus:ring-2 focus:ring-primary-500 focus:ring-offset-2"
+                    disabled={placingOrder}
+                    className="w-full bg-primary-600 text-white py-3 px-4 rounded-md font-medium hover:bg-primary-700 transition-colors focus:outline-none focus:ring-2 focus:ring-primary-500 focus:ring-offset-2 disabled:opacity-50 disabled:cursor-not-allowed"
                   >
-                    {isAuthenticated ? 'Proceed to Checkout' : 'Login to Checkout'}
+                    {placingOrder ? 'Placing order...' : isAuthenticated ? 'Proceed to Checkout' : 'Login to Checkout'}
                   </button>
                   
                   {!isAuthenticated && (
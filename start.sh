@@ -2,6 +2,15 @@
 
 echo "🚀 Online Bookstore Application Başlatılıyor..."
 
+# JWT imzalama anahtarı repoda tutulmaz; yoksa yerel olarak üretilir
+if [ ! -f secrets/jwt-private-key.pem ]; then
+    echo "🔑 JWT imzalama anahtarı üretiliyor..."
+    mkdir -p secrets
+    openssl genpkey -algorithm RSA -pkeyopt rsa_keygen_bits:2048 -out secrets/jwt-private-key.pem
+    # Container'daki uygulama kullanıcısı (1001) okuyabilmeli
+    chmod 644 secrets/jwt-private-key.pem
+fi
+
 # Docker Compose ile servisleri başlat
 echo "📦 Docker servisleri başlatılıyor..."
 docker-compose up -d